@@ -0,0 +1,105 @@
+package excel.poi;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * row마다 createCellStyle을 부르는 방식과 CellStyleRegistry로 스타일을 나눠 쓰는 방식의 비교
+ * <br>
+ * 할당량은 -prof gc(build.gradle jmh.profilers)의 gc.alloc.rate.norm을 rowSize로 나눠서 보고,
+ * 파일 크기는 trial이 끝날 때 "fileSize" 줄로 출력한다.
+ * 스타일은 워크북당 64000개가 한계라서 perRow는 rowSize를 그보다 작게 둔다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CellStyleBenchmark {
+    private static final String DATE_FORMAT = "yyyy/mm/d h:mm";
+    private static final CellStyleRegistry.Key DATE_STYLE = CellStyleRegistry.Key.builder()
+        .dataFormat(DATE_FORMAT)
+        .build();
+
+    @Param({"10000", "50000"})
+    private int rowSize;
+
+    private long fileSize;
+
+    @Benchmark
+    public long perRowStyle() throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("test");
+            LocalDateTime date = LocalDateTime.of(2022, 1, 1, 0, 0);
+            for (int rowNum = 0; rowNum < rowSize; rowNum++) {
+                CellStyle style = workbook.createCellStyle();
+                style.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat(DATE_FORMAT));
+                writeDateRow(sheet, rowNum, date, style);
+            }
+            return write(workbook);
+        }
+    }
+
+    @Benchmark
+    public long registryStyle() throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            CellStyleRegistry styles = new CellStyleRegistry(workbook);
+            Sheet sheet = workbook.createSheet("test");
+            LocalDateTime date = LocalDateTime.of(2022, 1, 1, 0, 0);
+            for (int rowNum = 0; rowNum < rowSize; rowNum++) {
+                writeDateRow(sheet, rowNum, date, styles.get(DATE_STYLE));
+            }
+            return write(workbook);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void printFileSize() {
+        System.out.println("fileSize rowSize=" + rowSize + " : " + fileSize + " bytes");
+    }
+
+    private void writeDateRow(Sheet sheet, int rowNum, LocalDateTime date, CellStyle style) {
+        Row row = sheet.createRow(rowNum);
+        row.createCell(0).setCellValue(date.plusHours(rowNum));
+        row.getCell(0).setCellStyle(style);
+    }
+
+    private long write(Workbook workbook) throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        workbook.write(outputStream);
+        fileSize = outputStream.count;
+        return fileSize;
+    }
+
+    /**
+     * 바이트 수만 세고 버린다.
+     */
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package excel.poi;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * POI export 경로 벤치마크. 워크북을 만들고 버리는 OutputStream에 쓰는 것까지를 한 번의 연산으로 본다.
+ * <br>
+ * ops/s는 워크북 단위이고, row당 할당량은 gc 프로파일러의 gc.alloc.rate.norm을 rowSize로 나눠서 본다.
+ * XSSF 1,000,000 row는 -Xmx4g(build.gradle jmh.jvmArgs)에서도 GC 비중이 크다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExcelExportBenchmark {
+    private static final CellStyleRegistry.Key DATE_STYLE = CellStyleRegistry.Key.builder()
+        .dataFormat("yyyy/mm/d h:mm")
+        .build();
+
+    @Param({"1000", "100000", "1000000"})
+    private int rowSize;
+
+    @Param({"XSSF", "SXSSF"})
+    private String workbookType;
+
+    private ExcelTestDataLoader loader;
+
+    @Setup
+    public void setUp() {
+        loader = ExcelTestDataLoader.getInstance(rowSize);
+    }
+
+    /**
+     * ExcelTestDataLoader.initialize()(XSSF) / export()(SXSSF)
+     */
+    @Benchmark
+    public void initialize() throws IOException {
+        if ("SXSSF".equals(workbookType)) {
+            loader.export(OutputStream.nullOutputStream());
+            return;
+        }
+        try (Workbook workbook = loader.initialize()) {
+            workbook.write(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public void styledCells() throws IOException {
+        writeDateCells(true);
+    }
+
+    @Benchmark
+    public void unstyledCells() throws IOException {
+        writeDateCells(false);
+    }
+
+    /**
+     * ExcelCreateTest.mergeCellTest 처럼 row마다 7칸을 병합한다.
+     */
+    @Benchmark
+    public void mergedRegions() throws IOException {
+        Workbook workbook = createWorkbook();
+        try {
+            Sheet sheet = workbook.createSheet("test");
+            for (int rowNum = 0; rowNum < rowSize; rowNum++) {
+                sheet.createRow(rowNum).createCell(0).setCellValue("This is a test of merging");
+                sheet.addMergedRegionUnsafe(new CellRangeAddress(rowNum, rowNum, 0, 6));
+            }
+            workbook.write(OutputStream.nullOutputStream());
+        } finally {
+            close(workbook);
+        }
+    }
+
+    private void writeDateCells(boolean styled) throws IOException {
+        Workbook workbook = createWorkbook();
+        try {
+            CellStyle dateStyle = new CellStyleRegistry(workbook).get(DATE_STYLE);
+            Sheet sheet = workbook.createSheet("test");
+            LocalDateTime date = LocalDateTime.of(2022, 1, 1, 0, 0);
+            for (int rowNum = 0; rowNum < rowSize; rowNum++) {
+                Row row = sheet.createRow(rowNum);
+                for (int column = 0; column < 5; column++) {
+                    row.createCell(column).setCellValue(date);
+                    if (styled) {
+                        row.getCell(column).setCellStyle(dateStyle);
+                    }
+                }
+            }
+            workbook.write(OutputStream.nullOutputStream());
+        } finally {
+            close(workbook);
+        }
+    }
+
+    private Workbook createWorkbook() {
+        if ("SXSSF".equals(workbookType)) {
+            return new SXSSFWorkbook(null, SXSSFWorkbook.DEFAULT_WINDOW_SIZE, true);
+        }
+        return new XSSFWorkbook();
+    }
+
+    private void close(Workbook workbook) throws IOException {
+        if (workbook instanceof SXSSFWorkbook) {
+            ((SXSSFWorkbook) workbook).dispose();
+        }
+        workbook.close();
+    }
+}
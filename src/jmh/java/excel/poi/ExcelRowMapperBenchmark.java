@@ -0,0 +1,113 @@
+package excel.poi;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.sql.Date;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 손으로 작성한 row 루프, ExcelRowMapper, StudentBatch(열 단위 배열)의 row 쓰기를 비교한다.
+ * 워크북 직렬화 비용은 빼고 row를 만드는 비용만 잰다. 날짜 변환에 드는 할당은 gc 프로파일러로 본다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExcelRowMapperBenchmark {
+    @Param({"10000"})
+    private int rowSize;
+
+    private List<Student> students;
+    private SXSSFWorkbook workbook;
+    private Sheet sheet;
+    private CellStyle dateCellStyle;
+    private ExcelRowMapper.RowWriter<Student> rowWriter;
+
+    @Setup(Level.Trial)
+    public void setUpStudents() {
+        students = new ArrayList<>(ExcelTestDataLoader.getInstance(rowSize).getTestStudents());
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpSheet() {
+        workbook = new SXSSFWorkbook(null, SXSSFWorkbook.DEFAULT_WINDOW_SIZE, false);
+        sheet = workbook.createSheet("학생 명부");
+        CellStyleRegistry styles = new CellStyleRegistry(workbook);
+        dateCellStyle = styles.get(CellStyleRegistry.Key.builder().dataFormat("yyyy/mm/d h:mm").build());
+        rowWriter = ExcelRowMapper.of(Student.class).writer(styles);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownSheet() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    @Benchmark
+    public Sheet handWrittenLoop() {
+        for (int rowNum = 0; rowNum < students.size(); rowNum++) {
+            Student student = students.get(rowNum);
+            Row row = sheet.createRow(rowNum + 1);
+            Cell name = row.createCell(0);
+            name.setCellValue(student.getName());
+            Cell number = row.createCell(1);
+            number.setCellValue(student.getNumber());
+            Cell male = row.createCell(2);
+            male.setCellValue(student.isMale());
+            Cell score = row.createCell(3);
+            score.setCellValue(student.getScore());
+            Cell startDate = row.createCell(4);
+            startDate.setCellValue(Date.from(student.getStartDate().atZone(ZoneId.systemDefault()).toInstant()));
+            startDate.setCellStyle(dateCellStyle);
+        }
+        return sheet;
+    }
+
+    @Benchmark
+    public Sheet studentBatch() {
+        StudentBatch batch = new StudentBatch(1024);
+        int rowNum = 1;
+        for (int i = 0; i < students.size(); i++) {
+            batch.add(students.get(i));
+            if (batch.isFull() || i == students.size() - 1) {
+                for (int j = 0; j < batch.size(); j++) {
+                    Row row = sheet.createRow(rowNum++);
+                    row.createCell(0).setCellValue(batch.getName(j));
+                    row.createCell(1).setCellValue(batch.getNumber(j));
+                    row.createCell(2).setCellValue(batch.isMale(j));
+                    row.createCell(3).setCellValue(batch.getScore(j));
+                    Cell startDate = row.createCell(4);
+                    startDate.setCellValue(batch.getExcelDate(j));
+                    startDate.setCellStyle(dateCellStyle);
+                }
+                batch.clear();
+            }
+        }
+        return sheet;
+    }
+
+    @Benchmark
+    public Sheet rowMapper() {
+        for (int rowNum = 0; rowNum < students.size(); rowNum++) {
+            rowWriter.write(sheet.createRow(rowNum + 1), students.get(rowNum));
+        }
+        return sheet;
+    }
+}
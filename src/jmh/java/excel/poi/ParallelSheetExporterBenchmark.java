@@ -0,0 +1,79 @@
+package excel.poi;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * ParallelSheetExporter의 스레드 개수에 따른 export 시간 비교
+ * <br>
+ * 시트 8개에 학생 rowSize명씩 쓰고 하나의 워크북으로 합쳐 버리는 OutputStream에 쓰는 것까지를 한 번의 연산으로 본다.
+ * threadSize가 코어 수보다 크면 더 빨라지지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelSheetExporterBenchmark {
+    private static final CellStyleRegistry.Key HEADER_STYLE = CellStyleRegistry.Key.builder()
+        .border(BorderStyle.THIN)
+        .fillForegroundColor(IndexedColors.AQUA)
+        .fillPattern(FillPatternType.SOLID_FOREGROUND)
+        .build();
+    private static final CellStyleRegistry.Key DATE_STYLE = CellStyleRegistry.Key.builder()
+        .dataFormat("yyyy/mm/d h:mm")
+        .build();
+    private static final List<CellStyleRegistry.Key> STYLES = List.of(HEADER_STYLE, DATE_STYLE);
+    private static final int SHEET_SIZE = 8;
+
+    @Param({"1", "2", "4", "8"})
+    private int threadSize;
+
+    @Param({"20000"})
+    private int rowSize;
+
+    private List<ParallelSheetExporter.SheetTask> sheetTasks;
+    private ParallelSheetExporter exporter;
+
+    @Setup
+    public void setUp() {
+        List<Student> students = ExcelTestDataLoader.getInstance(rowSize).getTestStudents();
+        ExcelRowMapper<Student> mapper = ExcelRowMapper.of(Student.class);
+        ParallelSheetExporter.SheetWriter writer = (sheet, styles) -> {
+            mapper.writeHeader(sheet.createRow(0), styles.get(HEADER_STYLE));
+            ExcelRowMapper.RowWriter<Student> rowWriter = mapper.writer(styles);
+            for (int i = 0; i < students.size(); i++) {
+                rowWriter.write(sheet.createRow(i + 1), students.get(i));
+            }
+        };
+        sheetTasks = IntStream.range(0, SHEET_SIZE)
+            .mapToObj(i -> new ParallelSheetExporter.SheetTask("sheet" + i, writer))
+            .collect(Collectors.toList());
+        exporter = new ParallelSheetExporter(threadSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        exporter.close();
+    }
+
+    @Benchmark
+    public void export() throws IOException {
+        exporter.export(sheetTasks, STYLES, OutputStream.nullOutputStream());
+    }
+}
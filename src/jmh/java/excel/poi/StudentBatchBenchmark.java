@@ -0,0 +1,52 @@
+package excel.poi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * POI row/cell 할당을 빼고 StudentBatch 자체의 할당만 본다.
+ * ExcelRowMapperBenchmark는 invocation마다 워크북을 만들어서 그 할당이 섞이므로 따로 둔다.
+ * <br>
+ * 배치는 trial마다 하나를 만들어 clear() 하며 재사용한다. gc.alloc.rate.norm을 rowSize로 나누면 row당 할당이다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StudentBatchBenchmark {
+    @Param({"10000"})
+    private int rowSize;
+
+    private List<Student> students;
+    private StudentBatch batch;
+
+    @Setup
+    public void setUp() {
+        students = new ArrayList<>(ExcelTestDataLoader.getInstance(rowSize).getTestStudents());
+        batch = new StudentBatch(1024);
+    }
+
+    @Benchmark
+    public double fillAndRead() {
+        double sum = 0;
+        for (int i = 0; i < students.size(); i++) {
+            batch.add(students.get(i));
+            if (batch.isFull() || i == students.size() - 1) {
+                for (int j = 0; j < batch.size(); j++) {
+                    sum += batch.getName(j).length() + batch.getNumber(j) + batch.getScore(j) + batch.getExcelDate(j);
+                }
+                batch.clear();
+            }
+        }
+        return sum;
+    }
+}
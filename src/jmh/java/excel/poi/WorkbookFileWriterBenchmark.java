@@ -0,0 +1,61 @@
+package excel.poi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * WorkbookFileWriter의 압축 레벨별 쓰기 시간 비교
+ * <br>
+ * SXSSF로 rowSize개 row를 임시 디렉터리의 파일에 쓰는 것까지를 한 번의 연산으로 본다.
+ * 처리량(MB/s)은 trial이 끝날 때 출력하는 "fileSize" 줄을 ms/op로 나눠서 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WorkbookFileWriterBenchmark {
+    @Param({"-1", "1", "9"})
+    private int deflateLevel;
+
+    @Param({"500000"})
+    private int rowSize;
+
+    private ExcelTestDataLoader loader;
+    private WorkbookFileWriter writer;
+    private Path directory;
+    private Path target;
+
+    @Setup
+    public void setUp() throws IOException {
+        loader = ExcelTestDataLoader.getInstance(rowSize);
+        writer = deflateLevel == Deflater.DEFAULT_COMPRESSION
+            ? WorkbookFileWriter.create()
+            : WorkbookFileWriter.withDeflateLevel(deflateLevel);
+        directory = Files.createTempDirectory("workbook-writer");
+        target = directory.resolve("writer.xlsx");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.out.println("fileSize deflateLevel=" + deflateLevel + " : " + Files.size(target) + " bytes");
+        Files.deleteIfExists(target);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public Path write() throws IOException {
+        return writer.write(target, loader::export);
+    }
+}
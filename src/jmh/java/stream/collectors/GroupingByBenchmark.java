@@ -0,0 +1,109 @@
+package stream.collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import stream.collectors.blog.BlogPost;
+import stream.collectors.blog.BlogPostType;
+import stream.collectors.blog.Tuple;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * BlogPost 100만 개를 작가별, 타입별로 묶어 좋아요 통계를 구하는 비용을 비교한다. 할당량은 -prof gc로 본다.
+ * <ul>
+ *     <li>collectorsByAuthor, collectorsByType: Collectors.groupingBy + summarizingInt</li>
+ *     <li>primitiveByAuthor: PrimitiveGroupingBy (open addressing)</li>
+ *     <li>primitiveByType: PrimitiveGroupingBy (enum ordinal)</li>
+ *     <li>collectorsMaxAndMinByType: GroupingByTest처럼 최대와 최소를 groupingBy 두 번으로 구한다.</li>
+ *     <li>aggregatingMaxAndMinByType: AggregatingGroupingBy로 한 번에 구한다.</li>
+ *     <li>collectorsByTuple: GroupingByTest처럼 요소마다 Tuple을 만들어 타입, 작가로 묶는다.</li>
+ *     <li>compositeByTuple: CompositeKeyGroupingBy로 새 그룹에만 Tuple을 만든다.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GroupingByBenchmark {
+    @Param({"1000000"})
+    private int postSize;
+
+    @Param({"1000"})
+    private int authorSize;
+
+    private List<BlogPost> posts;
+
+    @Setup
+    public void setUp() {
+        BlogPostType[] types = BlogPostType.values();
+        posts = new ArrayList<>(postSize);
+        for (int i = 0; i < postSize; i++) {
+            posts.add(new BlogPost("제목" + i, "작가" + (i % authorSize), types[i % types.length], i % 100));
+        }
+    }
+
+    @Benchmark
+    public Map<String, IntSummaryStatistics> collectorsByAuthor() {
+        return posts.stream()
+                .collect(Collectors.groupingBy(BlogPost::getAuthor, Collectors.summarizingInt(BlogPost::getLikes)));
+    }
+
+    @Benchmark
+    public GroupedLongStats<String> primitiveByAuthor() {
+        return posts.stream()
+                .collect(PrimitiveGroupingBy.summarizingInt(BlogPost::getAuthor, BlogPost::getLikes));
+    }
+
+    @Benchmark
+    public Map<BlogPostType, IntSummaryStatistics> collectorsByType() {
+        return posts.stream()
+                .collect(Collectors.groupingBy(BlogPost::getType, Collectors.summarizingInt(BlogPost::getLikes)));
+    }
+
+    @Benchmark
+    public GroupedLongStats<BlogPostType> primitiveByType() {
+        return posts.stream()
+                .collect(PrimitiveGroupingBy.summarizingInt(BlogPostType.class, BlogPost::getType, BlogPost::getLikes));
+    }
+
+    @Benchmark
+    public Object collectorsMaxAndMinByType() {
+        Map<BlogPostType, Optional<BlogPost>> max = posts.stream()
+                .collect(Collectors.groupingBy(BlogPost::getType, Collectors.maxBy(Comparator.comparingInt(BlogPost::getLikes))));
+        Map<BlogPostType, Optional<BlogPost>> min = posts.stream()
+                .collect(Collectors.groupingBy(BlogPost::getType, Collectors.minBy(Comparator.comparingInt(BlogPost::getLikes))));
+        return new Object[]{max, min};
+    }
+
+    @Benchmark
+    public Map<BlogPostType, AggregatingGroupingBy.Summary> aggregatingMaxAndMinByType() {
+        return posts.stream()
+                .collect(AggregatingGroupingBy.aggregating(BlogPostType.class, BlogPost::getType, BlogPost::getLikes,
+                        EnumSet.of(AggregatingGroupingBy.Aggregate.MAX, AggregatingGroupingBy.Aggregate.MIN)));
+    }
+
+    @Benchmark
+    public Map<Tuple, List<BlogPost>> collectorsByTuple() {
+        return posts.stream()
+                .collect(Collectors.groupingBy(post -> new Tuple(post.getType(), post.getAuthor())));
+    }
+
+    @Benchmark
+    public Map<Tuple, List<BlogPost>> compositeByTuple() {
+        return posts.stream()
+                .collect(CompositeKeyGroupingBy.groupingBy(BlogPost::getType, BlogPost::getAuthor, Tuple::new));
+    }
+}
@@ -0,0 +1,52 @@
+package stream.collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 크기를 아는 5,000만 개짜리 순차 스트림을 리스트로 모을 때의 할당량을 비교한다. -prof gc의 gc.alloc.rate.norm을 보자.
+ * <ul>
+ *     <li>arrayList: Collectors.toList(). 배열을 1.5배씩 늘리며 매번 복사한다.</li>
+ *     <li>chunkedArray: 조각에 모으고 크기에 맞는 배열로 한 번 복사한다.</li>
+ *     <li>chunkedView: 조각에 모으고 복사하지 않는다.</li>
+ * </ul>
+ * 항목 객체의 할당이 섞이지 않도록 모든 항목이 같은 객체를 가리킨다. 리스트 하나가 수백 MB라서 힙을 늘려서 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SizedToListCollectorBenchmark {
+    private static final Object ITEM = new Object();
+
+    @Param({"50000000"})
+    private int size;
+
+    @Benchmark
+    public List<Object> arrayList() {
+        return IntStream.range(0, size).mapToObj(i -> ITEM).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Object> chunkedArray() {
+        return IntStream.range(0, size).mapToObj(i -> ITEM)
+                .collect(ChunkedToListCollector.ordered(size, ChunkedToListCollector.Result.ARRAY));
+    }
+
+    @Benchmark
+    public List<Object> chunkedView() {
+        return IntStream.range(0, size).mapToObj(i -> ITEM)
+                .collect(ChunkedToListCollector.ordered(size, ChunkedToListCollector.Result.VIEW));
+    }
+}
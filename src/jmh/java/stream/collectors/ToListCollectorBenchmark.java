@@ -0,0 +1,55 @@
+package stream.collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 1,000만 개 병렬 스트림을 리스트로 모을 때 걸리는 시간과 할당량(-prof gc)을 비교한다.
+ * <ul>
+ *     <li>arrayList: Collectors.toList(). ToListCollector와 같은 방식(ArrayList + addAll)이다. ToListCollector는 항목마다 로그를 찍으므로 대신 쓴다.</li>
+ *     <li>chunkedOrdered: ChunkedToListCollector.ordered()</li>
+ *     <li>chunkedConcurrent: ChunkedToListCollector.concurrent()</li>
+ * </ul>
+ * 박싱 비용이 섞이지 않도록 Integer 배열을 미리 만들어 둔다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ToListCollectorBenchmark {
+    @Param({"10000000"})
+    private int size;
+
+    private Integer[] items;
+
+    @Setup
+    public void setUp() {
+        items = new Integer[size];
+        Arrays.setAll(items, Integer::valueOf);
+    }
+
+    @Benchmark
+    public List<Integer> arrayList() {
+        return Arrays.stream(items).parallel().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Integer> chunkedOrdered() {
+        return Arrays.stream(items).parallel().collect(ChunkedToListCollector.ordered());
+    }
+
+    @Benchmark
+    public List<Integer> chunkedConcurrent() {
+        return Arrays.stream(items).parallel().collect(ChunkedToListCollector.concurrent());
+    }
+}
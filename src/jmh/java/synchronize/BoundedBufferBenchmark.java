@@ -0,0 +1,169 @@
+package synchronize;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WaitAndNotifyTest와 같은 producer 4개, consumer 3개 구성으로 버퍼를 통해 항목을 주고받는 처리량을 비교한다.
+ * <br>
+ * 한 번의 호출에서 ITEM_SIZE개를 모두 주고받을 때까지 기다리므로, 결과는 초당 주고받은 항목 수이다.
+ * <ul>
+ *     <li>monitor: WaitAndNotifyTest.BoundedBuffer (synchronized + wait/notify). 로그 대신 BufferMetrics 카운터만 올린다.</li>
+ *     <li>monitorBatch: 같은 버퍼를 insertAll/drainTo로 BATCH_SIZE개씩 주고받는다.</li>
+ *     <li>lock: ArrayBlockingQueue (ReentrantLock + Condition). 로그가 없는 락 기반 기준값</li>
+ *     <li>lockFree: LockFreeBoundedBuffer (CAS)</li>
+ *     <li>striped: StripedBoundedBuffer. 코어 수만큼의 LockFreeBoundedBuffer lane에 나눠 담는다. 코어가 많을수록 차이가 커진다.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BoundedBufferBenchmark {
+	private static final int PRODUCER_THREAD_SIZE = 4;
+	private static final int CONSUMER_THREAD_SIZE = 3;
+	// producer 수와 consumer 수로 모두 나누어 떨어져야 한다.
+	private static final int ITEM_SIZE = 120_000;
+	private static final int BATCH_SIZE = 256;
+
+	@Param({"3", "1024"})
+	private int bufferSize;
+
+	private ExecutorService executor;
+
+	@Setup
+	public void setUp() {
+		executor = Executors.newFixedThreadPool(PRODUCER_THREAD_SIZE + CONSUMER_THREAD_SIZE);
+	}
+
+	@TearDown
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ITEM_SIZE)
+	public void monitor() throws Exception {
+		transfer(new WaitAndNotifyTest.BoundedBuffer<>(bufferSize));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ITEM_SIZE)
+	public void monitorBatch() throws Exception {
+		WaitAndNotifyTest.BoundedBuffer<Integer> buffer = new WaitAndNotifyTest.BoundedBuffer<>(bufferSize);
+		List<Integer> batch = new ArrayList<>(BATCH_SIZE);
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			batch.add(i);
+		}
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int p = 0; p < PRODUCER_THREAD_SIZE; p++) {
+			String name = "PRO " + p;
+			tasks.add(() -> {
+				int remaining = ITEM_SIZE / PRODUCER_THREAD_SIZE;
+				while (remaining > 0) {
+					List<Integer> items = batch.subList(0, Math.min(BATCH_SIZE, remaining));
+					buffer.insertAll(items, name);
+					remaining -= items.size();
+				}
+				return null;
+			});
+		}
+		for (int c = 0; c < CONSUMER_THREAD_SIZE; c++) {
+			String name = "CON " + c;
+			tasks.add(() -> {
+				List<Integer> drained = new ArrayList<>(BATCH_SIZE);
+				int remaining = ITEM_SIZE / CONSUMER_THREAD_SIZE;
+				while (remaining > 0) {
+					remaining -= buffer.drainTo(drained, Math.min(BATCH_SIZE, remaining), name);
+					drained.clear();
+				}
+				return null;
+			});
+		}
+		await(tasks);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ITEM_SIZE)
+	public void lock() throws Exception {
+		ArrayBlockingQueue<Integer> queue = new ArrayBlockingQueue<>(bufferSize);
+		transfer(new BlockingBuffer<>() {
+			@Override
+			public void insert(Integer item, String name) {
+				try {
+					queue.put(item);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+			@Override
+			public Integer remove(String name) {
+				try {
+					return queue.take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return null;
+				}
+			}
+		});
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ITEM_SIZE)
+	public void lockFree() throws Exception {
+		transfer(new LockFreeBoundedBuffer<>(bufferSize));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ITEM_SIZE)
+	public void striped() throws Exception {
+		transfer(new StripedBoundedBuffer<>(bufferSize));
+	}
+
+	private void transfer(BlockingBuffer<Integer> buffer) throws InterruptedException, ExecutionException {
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int p = 0; p < PRODUCER_THREAD_SIZE; p++) {
+			String name = "PRO " + p;
+			tasks.add(() -> {
+				for (int i = 0; i < ITEM_SIZE / PRODUCER_THREAD_SIZE; i++) {
+					buffer.insert(i, name);
+				}
+				return null;
+			});
+		}
+		for (int c = 0; c < CONSUMER_THREAD_SIZE; c++) {
+			String name = "CON " + c;
+			tasks.add(() -> {
+				for (int i = 0; i < ITEM_SIZE / CONSUMER_THREAD_SIZE; i++) {
+					buffer.remove(name);
+				}
+				return null;
+			});
+		}
+		await(tasks);
+	}
+
+	private void await(List<Callable<Void>> tasks) throws InterruptedException, ExecutionException {
+		for (Future<Void> future : executor.invokeAll(tasks)) {
+			future.get();
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package synchronize;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * producer 1개, consumer 1개가 long 이벤트 ID를 주고받을 때, Long으로 박싱하는 버퍼와 long[] 버퍼를 비교한다.
+ * <br>
+ * -prof gc로 실행해서 gc.alloc.rate.norm(항목 하나당 할당한 바이트)을 보자.
+ * 이벤트 ID는 Long 캐시(-128 ~ 127)를 벗어나므로 boxed는 항목마다 Long 객체(16바이트)를 만들고, primitive는 0에 가깝다.
+ * <ul>
+ *     <li>boxed: LockFreeBoundedBuffer&lt;Long&gt;</li>
+ *     <li>primitive: LongRingBuffer</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LongRingBufferBenchmark {
+	private static final int ITEM_SIZE = 1_000_000;
+	private static final long FIRST_EVENT_ID = 1L << 40;
+
+	@Param({"1024"})
+	private int bufferSize;
+
+	private ExecutorService executor;
+
+	@Setup
+	public void setUp() {
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+	@TearDown
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ITEM_SIZE)
+	public long boxed() throws InterruptedException, ExecutionException {
+		LockFreeBoundedBuffer<Long> buffer = new LockFreeBoundedBuffer<>(bufferSize);
+		Future<?> producer = executor.submit(() -> {
+			for (long eventId = FIRST_EVENT_ID; eventId < FIRST_EVENT_ID + ITEM_SIZE; eventId++) {
+				buffer.insert(eventId, "PRO 0");
+			}
+		});
+		long sum = 0;
+		for (int i = 0; i < ITEM_SIZE; i++) {
+			sum += buffer.remove("CON 0");
+		}
+		producer.get();
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ITEM_SIZE)
+	public long primitive() throws InterruptedException, ExecutionException {
+		LongRingBuffer buffer = new LongRingBuffer(bufferSize);
+		Future<?> producer = executor.submit(() -> {
+			for (long eventId = FIRST_EVENT_ID; eventId < FIRST_EVENT_ID + ITEM_SIZE; eventId++) {
+				buffer.insertLong(eventId);
+			}
+		});
+		long sum = 0;
+		for (int i = 0; i < ITEM_SIZE; i++) {
+			sum += buffer.removeLong();
+		}
+		producer.get();
+		return sum;
+	}
+}
@@ -0,0 +1,56 @@
+package synchronize;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * producer 10,000개, consumer 100개가 작업마다 스레드 하나씩 쓰며 버퍼로 항목을 주고받는 처리량을 잰다.
+ * <br>
+ * 스레드 종류(PLATFORM/VIRTUAL)와 버퍼(synchronized/ReentrantLock)를 조합해서 비교한다.
+ * 가상 스레드를 쓸 수 없는 JVM(Java 17 등)에서는 VIRTUAL 조합이 Setup에서 실패하고 나머지 조합만 실행된다.
+ * pinning 이벤트 수와 최대 플랫폼 스레드 수는 ProducerConsumerHarness.Result에 담겨 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VirtualThreadBufferBenchmark {
+	private static final int PRODUCER_SIZE = 10_000;
+	private static final int CONSUMER_SIZE = 100;
+	private static final int ITEMS_PER_PRODUCER = 10;
+	private static final int BUFFER_SIZE = 64;
+
+	@Param({"PLATFORM", "VIRTUAL"})
+	private ProducerConsumerHarness.Threads threads;
+
+	@Param({"synchronized", "reentrantLock"})
+	private String buffer;
+
+	@Setup
+	public void setUp() {
+		if (threads == ProducerConsumerHarness.Threads.VIRTUAL && !ProducerConsumerHarness.isVirtualThreadAvailable()) {
+			throw new UnsupportedOperationException("이 JVM(" + Runtime.version() + ")에서는 가상 스레드를 사용할 수 없습니다.");
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PRODUCER_SIZE * ITEMS_PER_PRODUCER)
+	public ProducerConsumerHarness.Result producerConsumer() throws InterruptedException {
+		return ProducerConsumerHarness.run(threads, createBuffer(), PRODUCER_SIZE, CONSUMER_SIZE, ITEMS_PER_PRODUCER);
+	}
+
+	private BlockingBuffer<Integer> createBuffer() {
+		if ("synchronized".equals(buffer)) {
+			return new WaitAndNotifyTest.BoundedBuffer<>(BUFFER_SIZE);
+		}
+		return new ReentrantLockBoundedBuffer<>(BUFFER_SIZE);
+	}
+}
@@ -0,0 +1,80 @@
+package synchronize;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대기 전략별 handoff 지연 시간 분포를 잰다.
+ * <br>
+ * 벤치마크 스레드가 request 버퍼에 넣으면 echo 스레드가 꺼내서 response 버퍼에 넣고, 벤치마크 스레드가 그걸 꺼낼 때까지를 한 번으로 본다.
+ * 두 버퍼 모두 비어 있는 상태에서 시작하므로, 매번 한 쪽은 대기 전략으로 기다리다가 깨어나야 한다.
+ * SampleTime 모드라서 결과에 p0.50, p0.99, p0.999 등의 백분위가 함께 나온다.
+ * <br>
+ * busySpin은 두 스레드가 각자 코어를 하나씩 차지할 수 있어야 의미가 있다. 코어가 하나면 타임 슬라이스 단위로만 진행된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WaitStrategyBenchmark {
+	private static final Integer PING = 1;
+	private static final Integer STOP = -1;
+	// 한 번에 하나만 오가지만 LockFreeBoundedBuffer는 2보다 작게 만들 수 없다.
+	private static final int BUFFER_SIZE = 2;
+
+	@Param({"busySpin", "spinThenYield", "parking", "blocking"})
+	private String waitStrategy;
+
+	private LockFreeBoundedBuffer<Integer> requests;
+	private LockFreeBoundedBuffer<Integer> responses;
+	private Thread echo;
+
+	@Setup
+	public void setUp() {
+		requests = new LockFreeBoundedBuffer<>(BUFFER_SIZE, create(waitStrategy));
+		responses = new LockFreeBoundedBuffer<>(BUFFER_SIZE, create(waitStrategy));
+		echo = new Thread(() -> {
+			Integer request;
+			while ((request = requests.remove("echo")) != STOP) {
+				responses.insert(request, "echo");
+			}
+		}, "echo");
+		echo.setDaemon(true);
+		echo.start();
+	}
+
+	@TearDown
+	public void tearDown() throws InterruptedException {
+		requests.insert(STOP, "benchmark");
+		echo.join();
+	}
+
+	@Benchmark
+	public Integer roundTrip() {
+		requests.insert(PING, "benchmark");
+		return responses.remove("benchmark");
+	}
+
+	private static WaitStrategy create(String name) {
+		switch (name) {
+			case "busySpin":
+				return WaitStrategy.busySpin();
+			case "spinThenYield":
+				return WaitStrategy.spinThenYield();
+			case "parking":
+				return WaitStrategy.parking(TimeUnit.MICROSECONDS.toNanos(100));
+			case "blocking":
+				return WaitStrategy.blocking();
+			default:
+				throw new IllegalArgumentException(name);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package excel.poi;
+
+import lombok.Builder;
+import lombok.Value;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 워크북 단위 CellStyle 캐시
+ * <br>
+ * CellStyle은 워크북의 styles.xml에 쌓이고, 워크북당 최대 64000개까지만 만들 수 있다.
+ * 같은 속성의 스타일은 한 번만 만들어서 재사용해야 row 개수와 상관없이 스타일 개수가 일정하다.
+ */
+public class CellStyleRegistry {
+    private final Workbook workbook;
+    private final Map<Key, CellStyle> styles = new HashMap<>();
+
+    public CellStyleRegistry(Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    public CellStyle get(Key key) {
+        return styles.computeIfAbsent(key, this::createCellStyle);
+    }
+
+    public int size() {
+        return styles.size();
+    }
+
+    private CellStyle createCellStyle(Key key) {
+        CellStyle style = workbook.createCellStyle();
+
+        if (key.getDataFormat() != null) {
+            style.setDataFormat(
+                workbook.getCreationHelper().createDataFormat().getFormat(key.getDataFormat())
+            );
+        }
+
+        style.setBorderTop(key.getBorder());
+        style.setBorderBottom(key.getBorder());
+        style.setBorderLeft(key.getBorder());
+        style.setBorderRight(key.getBorder());
+        style.setAlignment(key.getAlignment());
+        style.setVerticalAlignment(key.getVerticalAlignment());
+
+        style.setFillForegroundColor(key.getFillForegroundColor().getIndex());
+        style.setFillPattern(key.getFillPattern());
+
+        return style;
+    }
+
+    /**
+     * 스타일을 구분하는 속성 묶음. 속성이 같으면 같은 CellStyle을 돌려준다.
+     * 테두리는 이 레포에서 항상 네 방향을 같이 쓰므로 하나로 관리한다.
+     */
+    @Value
+    @Builder
+    public static class Key {
+        String dataFormat;
+        @Builder.Default
+        BorderStyle border = BorderStyle.NONE;
+        @Builder.Default
+        IndexedColors fillForegroundColor = IndexedColors.AUTOMATIC;
+        @Builder.Default
+        FillPatternType fillPattern = FillPatternType.NO_FILL;
+        @Builder.Default
+        HorizontalAlignment alignment = HorizontalAlignment.GENERAL;
+        @Builder.Default
+        VerticalAlignment verticalAlignment = VerticalAlignment.BOTTOM;
+    }
+}
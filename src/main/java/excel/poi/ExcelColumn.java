@@ -0,0 +1,28 @@
+package excel.poi;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 필드를 엑셀 열에 매핑한다. {@link ExcelRowMapper}가 읽는다.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ExcelColumn {
+    /**
+     * 0부터 시작하는 열 번호
+     */
+    int index();
+
+    /**
+     * 헤더에 쓸 이름
+     */
+    String name();
+
+    /**
+     * 셀 데이터 포맷. 비어 있으면 General
+     */
+    String format() default "";
+}
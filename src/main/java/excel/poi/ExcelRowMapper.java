@@ -0,0 +1,280 @@
+package excel.poi;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link ExcelColumn}이 붙은 필드를 기준으로 객체와 엑셀 row를 변환한다.
+ * <br>
+ * 클래스당 한 번만 getter를 찾아 LambdaMetafactory로 람다를 만들어두므로, row를 쓸 때는 리플렉션을 하지 않는다.
+ * primitive 필드는 ToIntFunction 같은 primitive 함수형 인터페이스로 만들어 박싱도 하지 않는다.
+ * 읽을 때는 lombok @Builder/@AllArgsConstructor가 만드는 필드 선언 순서의 생성자를 사용한다.
+ */
+public class ExcelRowMapper<T> {
+    private static final ClassValue<ExcelRowMapper<?>> MAPPERS = new ClassValue<>() {
+        @Override
+        protected ExcelRowMapper<?> computeValue(Class<?> type) {
+            return new ExcelRowMapper<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final List<Column<T>> columns;
+    private final MethodHandle constructor;
+
+    private ExcelRowMapper(Class<T> type) {
+        MethodHandles.Lookup lookup = privateLookup(type);
+        this.type = type;
+        this.columns = createColumns(lookup, type);
+        this.constructor = findConstructor(lookup, type, columns);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ExcelRowMapper<T> of(Class<T> type) {
+        return (ExcelRowMapper<T>) MAPPERS.get(type);
+    }
+
+    public void writeHeader(Row headerRow, CellStyle headerCellStyle) {
+        for (Column<T> column : columns) {
+            Cell cell = headerRow.createCell(column.index);
+            cell.setCellValue(column.name);
+            cell.setCellStyle(headerCellStyle);
+        }
+    }
+
+    /**
+     * 열 포맷에 맞는 스타일을 미리 찾아둔 writer를 돌려준다. 시트마다 한 번 만들어서 모든 row에 재사용한다.
+     */
+    public RowWriter<T> writer(CellStyleRegistry styles) {
+        CellStyle[] cellStyles = new CellStyle[columns.size()];
+        for (int i = 0; i < cellStyles.length; i++) {
+            String format = columns.get(i).format;
+            if (!format.isEmpty()) {
+                cellStyles[i] = styles.get(CellStyleRegistry.Key.builder().dataFormat(format).build());
+            }
+        }
+
+        return (row, item) -> {
+            for (int i = 0; i < cellStyles.length; i++) {
+                Column<T> column = columns.get(i);
+                Cell cell = row.createCell(column.index);
+                column.writer.write(item, cell);
+                if (cellStyles[i] != null) {
+                    cell.setCellStyle(cellStyles[i]);
+                }
+            }
+        };
+    }
+
+    public T read(Row row) {
+        if (constructor == null) {
+            throw new IllegalStateException(type.getName() + "에 매핑된 필드 순서와 같은 생성자가 없습니다.");
+        }
+
+        Object[] args = new Object[columns.size()];
+        for (int i = 0; i < args.length; i++) {
+            Column<T> column = columns.get(i);
+            args[i] = column.reader.read(row.getCell(column.index, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK));
+        }
+
+        try {
+            return type.cast(constructor.invoke(args));
+        } catch (Throwable e) {
+            throw new IllegalStateException(type.getName() + " 생성에 실패했습니다.", e);
+        }
+    }
+
+    public int getColumnSize() {
+        return columns.size();
+    }
+
+    @FunctionalInterface
+    public interface RowWriter<T> {
+        void write(Row row, T item);
+    }
+
+    @FunctionalInterface
+    private interface CellWriter<T> {
+        void write(T item, Cell cell);
+    }
+
+    @FunctionalInterface
+    private interface CellReader {
+        Object read(Cell cell);
+    }
+
+    private static class Column<T> {
+        private final int index;
+        private final String name;
+        private final String format;
+        private final CellWriter<T> writer;
+        private final CellReader reader;
+
+        private Column(ExcelColumn annotation, CellWriter<T> writer, CellReader reader) {
+            this.index = annotation.index();
+            this.name = annotation.name();
+            this.format = annotation.format();
+            this.writer = writer;
+            this.reader = reader;
+        }
+    }
+
+    private static MethodHandles.Lookup privateLookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + "에 접근할 수 없습니다.", e);
+        }
+    }
+
+    private static <T> List<Column<T>> createColumns(MethodHandles.Lookup lookup, Class<T> type) {
+        List<Column<T>> columns = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            ExcelColumn annotation = field.getAnnotation(ExcelColumn.class);
+            if (annotation == null || Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            MethodHandle getter = findGetter(lookup, type, field);
+            columns.add(new Column<>(annotation, createWriter(lookup, getter, field), createReader(field)));
+        }
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException(type.getName() + "에 @ExcelColumn 필드가 없습니다.");
+        }
+        return List.copyOf(columns);
+    }
+
+    private static MethodHandle findGetter(MethodHandles.Lookup lookup, Class<?> type, Field field) {
+        String capitalized = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        MethodType getterType = MethodType.methodType(field.getType());
+        try {
+            if (field.getType() == boolean.class) {
+                return lookup.findVirtual(type, "is" + capitalized, getterType);
+            }
+            return lookup.findVirtual(type, "get" + capitalized, getterType);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(field + "의 getter가 없습니다.", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> CellWriter<T> createWriter(MethodHandles.Lookup lookup, MethodHandle getter, Field field) {
+        Class<?> fieldType = field.getType();
+        if (fieldType == int.class) {
+            ToIntFunction<T> accessor = lambda(lookup, getter, ToIntFunction.class, "applyAsInt", int.class);
+            return (item, cell) -> cell.setCellValue(accessor.applyAsInt(item));
+        }
+        if (fieldType == long.class) {
+            ToLongFunction<T> accessor = lambda(lookup, getter, ToLongFunction.class, "applyAsLong", long.class);
+            return (item, cell) -> cell.setCellValue(accessor.applyAsLong(item));
+        }
+        if (fieldType == double.class) {
+            ToDoubleFunction<T> accessor = lambda(lookup, getter, ToDoubleFunction.class, "applyAsDouble", double.class);
+            return (item, cell) -> cell.setCellValue(accessor.applyAsDouble(item));
+        }
+        if (fieldType == boolean.class) {
+            Predicate<T> accessor = lambda(lookup, getter, Predicate.class, "test", boolean.class);
+            return (item, cell) -> cell.setCellValue(accessor.test(item));
+        }
+
+        Function<T, Object> accessor = lambda(lookup, getter, Function.class, "apply", Object.class);
+        if (fieldType == String.class) {
+            return (item, cell) -> cell.setCellValue((String) accessor.apply(item));
+        }
+        if (fieldType == LocalDateTime.class) {
+            return (item, cell) -> cell.setCellValue((LocalDateTime) accessor.apply(item));
+        }
+        if (fieldType == LocalDate.class) {
+            return (item, cell) -> cell.setCellValue((LocalDate) accessor.apply(item));
+        }
+        throw new IllegalArgumentException(field + "의 타입은 엑셀 열로 매핑할 수 없습니다.");
+    }
+
+    private static CellReader createReader(Field field) {
+        Class<?> fieldType = field.getType();
+        if (fieldType == int.class) {
+            return cell -> (int) cell.getNumericCellValue();
+        }
+        if (fieldType == long.class) {
+            return cell -> (long) cell.getNumericCellValue();
+        }
+        if (fieldType == double.class) {
+            return Cell::getNumericCellValue;
+        }
+        if (fieldType == boolean.class) {
+            return Cell::getBooleanCellValue;
+        }
+        if (fieldType == String.class) {
+            return Cell::getStringCellValue;
+        }
+        if (fieldType == LocalDateTime.class) {
+            return Cell::getLocalDateTimeCellValue;
+        }
+        if (fieldType == LocalDate.class) {
+            return cell -> {
+                LocalDateTime value = cell.getLocalDateTimeCellValue();
+                return value == null ? null : value.toLocalDate();
+            };
+        }
+        throw new IllegalArgumentException(field + "의 타입은 엑셀 열로 매핑할 수 없습니다.");
+    }
+
+    /**
+     * getter MethodHandle을 함수형 인터페이스 구현체로 바꾼다. 참조 타입 반환값은 Object로 erase 된다.
+     */
+    @SuppressWarnings("unchecked")
+    private static <F> F lambda(MethodHandles.Lookup lookup, MethodHandle getter, Class<?> functionalInterface,
+                                String methodName, Class<?> erasedReturnType) {
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(
+                lookup,
+                methodName,
+                MethodType.methodType(functionalInterface),
+                MethodType.methodType(erasedReturnType, Object.class),
+                getter,
+                getter.type()
+            );
+            return (F) callSite.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException(getter + " 람다 생성에 실패했습니다.", e);
+        }
+    }
+
+    private static MethodHandle findConstructor(MethodHandles.Lookup lookup, Class<?> type, List<? extends Column<?>> columns) {
+        Class<?>[] fieldTypes = Arrays.stream(type.getDeclaredFields())
+            .filter(field -> field.isAnnotationPresent(ExcelColumn.class))
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getType)
+            .toArray(Class<?>[]::new);
+
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            if (Arrays.equals(constructor.getParameterTypes(), fieldTypes)) {
+                try {
+                    return lookup.unreflectConstructor(constructor).asSpreader(Object[].class, columns.size());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalArgumentException(constructor + "에 접근할 수 없습니다.", e);
+                }
+            }
+        }
+        return null;
+    }
+}
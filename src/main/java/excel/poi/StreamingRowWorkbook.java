@@ -0,0 +1,98 @@
+package excel.poi;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFRow;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * row를 write() 시점에 만들어서 출력 zip에 바로 쓰는 SXSSFWorkbook
+ * <br>
+ * SXSSFWorkbook은 row를 임시 파일에 모아뒀다가 write()에서 한꺼번에 zip으로 옮기므로, 첫 바이트가 나가기까지 걸리는 시간이 row 개수에 비례한다.
+ * 이 워크북은 {@link #setRowEmitter}로 등록한 시트의 row를 write() 도중 시트 파트에 직접 쓰므로, 앞쪽 파트와 row가 만들어지는 대로 출력된다.
+ * <br>
+ * 제약
+ * <ul>
+ *     <li>styles.xml은 row보다 먼저 쓰일 수 있으므로, emitter에서 쓸 스타일은 write() 전에 만들어 둬야 한다.</li>
+ *     <li>emitter row는 시트에 createRow()로 만든 row(헤더 등) 뒤에 이어서 쓰인다.</li>
+ * </ul>
+ */
+public class StreamingRowWorkbook extends SXSSFWorkbook {
+    private final Map<SXSSFSheet, RowEmitter> rowEmitters = new IdentityHashMap<>();
+
+    public StreamingRowWorkbook() {
+        super(null, DEFAULT_WINDOW_SIZE, true);
+    }
+
+    public void setRowEmitter(Sheet sheet, RowEmitter rowEmitter) {
+        if (getSheetIndex(sheet) < 0) {
+            throw new IllegalArgumentException(sheet.getSheetName() + " 시트는 이 워크북의 시트가 아닙니다.");
+        }
+        rowEmitters.put((SXSSFSheet) sheet, rowEmitter);
+    }
+
+    @Override
+    protected ISheetInjector createSheetInjector(SXSSFSheet sheet) throws IOException {
+        ISheetInjector flushedRows = super.createSheetInjector(sheet);
+        RowEmitter rowEmitter = rowEmitters.get(sheet);
+        if (rowEmitter == null) {
+            return flushedRows;
+        }
+
+        return outputStream -> {
+            flushedRows.writeSheetData(outputStream);
+            // SheetDataWriter.close()는 출력 zip까지 닫으므로 호출하지 않고 writer만 flush 한다.
+            // write()는 시트를 모두 flush 한 뒤 injector를 부르므로 getLastRowNum()이 아니라 flush 된 마지막 row 뒤에 이어 쓴다.
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            int firstRowNum = Math.max(sheet.getLastRowNum(), sheet.getLastFlushedRowNum()) + 1;
+            RowSink rowSink = new RowSink(sheet, new SheetDataWriter(writer), firstRowNum);
+            rowEmitter.emit(rowSink);
+            rowSink.flush();
+            writer.flush();
+        };
+    }
+
+    @FunctionalInterface
+    public interface RowEmitter {
+        void emit(RowSink rows) throws IOException;
+    }
+
+    /**
+     * nextRow()가 돌려준 row는 다음 nextRow() 호출 때 출력된다. 메모리에는 항상 row 하나만 남는다.
+     */
+    public static class RowSink {
+        private final SXSSFSheet sheet;
+        private final SheetDataWriter sheetDataWriter;
+        private int rowNum;
+        private SXSSFRow pendingRow;
+
+        private RowSink(SXSSFSheet sheet, SheetDataWriter sheetDataWriter, int firstRowNum) {
+            this.sheet = sheet;
+            this.sheetDataWriter = sheetDataWriter;
+            this.rowNum = firstRowNum;
+        }
+
+        public Row nextRow() throws IOException {
+            flush();
+            pendingRow = new SXSSFRow(sheet);
+            return pendingRow;
+        }
+
+        private void flush() throws IOException {
+            if (pendingRow != null) {
+                sheetDataWriter.writeRow(rowNum++, pendingRow);
+                pendingRow = null;
+            }
+        }
+    }
+}
@@ -8,9 +8,14 @@ import java.time.LocalDateTime;
 @Data
 @Builder
 public class Student {
+    @ExcelColumn(index = 0, name = "이름")
     private final String name;
+    @ExcelColumn(index = 1, name = "숫자")
     private final int number;
+    @ExcelColumn(index = 2, name = "남성 여부")
     private final boolean male;
+    @ExcelColumn(index = 3, name = "점수")
     private final double score;
+    @ExcelColumn(index = 4, name = "입학일", format = "yyyy/mm/d h:mm")
     private final LocalDateTime startDate;
 }
@@ -0,0 +1,104 @@
+package excel.poi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class CellStyleRegistryTest {
+    private static final String DATE_FORMAT = "yyyy/mm/d h:mm";
+
+    @DisplayName("같은 속성의 키는 같은 CellStyle을 돌려준다.")
+    @Test
+    void sameKeySameStyleTest() throws IOException {
+        //given
+        try (Workbook workbook = new XSSFWorkbook()) {
+            CellStyleRegistry styles = new CellStyleRegistry(workbook);
+
+            //when
+            CellStyle first = styles.get(CellStyleRegistry.Key.builder().border(BorderStyle.THIN).build());
+            CellStyle second = styles.get(CellStyleRegistry.Key.builder().border(BorderStyle.THIN).build());
+            CellStyle other = styles.get(CellStyleRegistry.Key.builder().border(BorderStyle.MEDIUM).build());
+
+            //then
+            assertThat(first).isSameAs(second);
+            assertThat(other).isNotSameAs(first);
+            assertThat(styles.size()).isEqualTo(2);
+        }
+    }
+
+    @DisplayName("row 개수와 상관없이 워크북의 스타일 개수는 일정하다.")
+    @Test
+    void styleCountIndependentOfRowCountTest() throws IOException {
+        try (Workbook small = ExcelTestDataLoader.getInstance(students(10)).initialize();
+             Workbook large = ExcelTestDataLoader.getInstance(students(10_000)).initialize()) {
+            assertThat(large.getNumCellStyles()).isEqualTo(small.getNumCellStyles());
+        }
+    }
+
+    @DisplayName("row마다 스타일을 만드는 방식보다 파일이 작다.")
+    @Test
+    void smallerThanPerRowStyleTest() throws IOException {
+        //given
+        final int rowSize = 10_000;
+
+        //when
+        long perRowStyleSize;
+        try (Workbook workbook = new XSSFWorkbook()) {
+            writeDateRows(workbook, rowSize, () -> {
+                CellStyle style = workbook.createCellStyle();
+                style.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat(DATE_FORMAT));
+                return style;
+            });
+            perRowStyleSize = sizeOf(workbook);
+        }
+
+        long registrySize;
+        try (Workbook workbook = new XSSFWorkbook()) {
+            CellStyleRegistry styles = new CellStyleRegistry(workbook);
+            CellStyleRegistry.Key dateKey = CellStyleRegistry.Key.builder().dataFormat(DATE_FORMAT).build();
+            writeDateRows(workbook, rowSize, () -> styles.get(dateKey));
+            registrySize = sizeOf(workbook);
+        }
+
+        //then
+        assertThat(registrySize).isLessThan(perRowStyleSize);
+    }
+
+    private void writeDateRows(Workbook workbook, int rowSize, Supplier<CellStyle> styleSupplier) {
+        Sheet sheet = workbook.createSheet("test");
+        LocalDateTime date = LocalDateTime.of(2022, 1, 1, 0, 0);
+        for (int rowNum = 0; rowNum < rowSize; rowNum++) {
+            Row row = sheet.createRow(rowNum);
+            row.createCell(0).setCellValue(date.plusHours(rowNum));
+            row.getCell(0).setCellStyle(styleSupplier.get());
+        }
+    }
+
+    private long sizeOf(Workbook workbook) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        workbook.write(outputStream);
+        return outputStream.size();
+    }
+
+    private List<Student> students(int size) {
+        List<Student> students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            students.add(new Student("name" + i, i, i % 2 == 0, i, LocalDateTime.of(2022, 1, 1, 0, 0)));
+        }
+        return students;
+    }
+}
@@ -26,8 +26,9 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -79,14 +80,11 @@ public class ExcelCreateTest {
     }
 
     private File createXlsxFile(Workbook workbook) {
-        File testFile = new File(EXCEL_FILE_NAME);
-
-        try (FileOutputStream testFileOutputStream = new FileOutputStream(testFile)) {
-            workbook.write(testFileOutputStream);
+        try {
+            return WorkbookFileWriter.create().write(workbook, Path.of(EXCEL_FILE_NAME)).toFile();
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new UncheckedIOException(e);
         }
-        return testFile;
     }
 
     @DisplayName("엑셀 시트에 sheet를 추가한다")
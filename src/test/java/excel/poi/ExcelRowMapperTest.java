@@ -0,0 +1,72 @@
+package excel.poi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ExcelRowMapperTest {
+    private final ExcelRowMapper<Student> mapper = ExcelRowMapper.of(Student.class);
+    private final List<Student> students = ExcelTestDataLoader.getInstance().getTestStudents();
+
+    private Workbook workbook;
+    private Sheet sheet;
+
+    @BeforeEach
+    void setUp() {
+        workbook = new XSSFWorkbook();
+        sheet = workbook.createSheet("학생 명부");
+
+        mapper.writeHeader(sheet.createRow(0), null);
+        ExcelRowMapper.RowWriter<Student> writer = mapper.writer(new CellStyleRegistry(workbook));
+        for (int i = 0; i < students.size(); i++) {
+            writer.write(sheet.createRow(i + 1), students.get(i));
+        }
+    }
+
+    @DisplayName("클래스마다 매퍼는 한 번만 만들어진다.")
+    @Test
+    void mapperCacheTest() {
+        assertThat(ExcelRowMapper.of(Student.class)).isSameAs(mapper);
+        assertThat(mapper.getColumnSize()).isEqualTo(5);
+    }
+
+    @DisplayName("손으로 작성한 initialize()와 같은 셀을 만든다.")
+    @Test
+    void sameCellsAsHandWrittenLoopTest() throws IOException {
+        try (Workbook expected = ExcelTestDataLoader.getInstance().initialize()) {
+            for (Row expectedRow : expected.getSheetAt(0)) {
+                Row actualRow = sheet.getRow(expectedRow.getRowNum());
+                for (Cell expectedCell : expectedRow) {
+                    Cell actualCell = actualRow.getCell(expectedCell.getColumnIndex());
+                    assertThat(actualCell.toString()).isEqualTo(expectedCell.toString());
+                    assertThat(actualCell.getCellStyle().getDataFormatString())
+                        .isEqualTo(expectedCell.getCellStyle().getDataFormatString());
+                }
+            }
+        }
+    }
+
+    @DisplayName("row를 다시 Student로 읽는다.")
+    @Test
+    void readTest() {
+        //when
+        List<Student> readStudents = new ArrayList<>();
+        for (int rowNum = 1; rowNum <= sheet.getLastRowNum(); rowNum++) {
+            readStudents.add(mapper.read(sheet.getRow(rowNum)));
+        }
+
+        //then
+        assertThat(readStudents).isEqualTo(students);
+    }
+}
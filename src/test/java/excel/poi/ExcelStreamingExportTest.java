@@ -0,0 +1,84 @@
+package excel.poi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * SXSSF 스트리밍 export 테스트
+ * <br>
+ * 100만 row 테스트는 limited-heap 태그로 build.gradle의 limitedHeapTest 태스크(힙 256MB)에서만 돈다.
+ * XSSFWorkbook으로는 이 힙에서 100만 row를 만들 수 없다.
+ */
+public class ExcelStreamingExportTest {
+    private static final String EXCEL_FILE_NAME = "src/test/resources/streaming.xlsx";
+
+    @AfterEach
+    void cleanUpFile() {
+        new File(EXCEL_FILE_NAME).delete();
+    }
+
+    @DisplayName("스트리밍 export 결과는 initialize()와 같은 헤더/본문 레이아웃을 가진다.")
+    @Test
+    void exportHasSameLayoutAsInitializeTest() throws IOException {
+        //given
+        ExcelTestDataLoader loader = ExcelTestDataLoader.getInstance();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        loader.export(outputStream, 2);
+
+        //then
+        try (Workbook expected = loader.initialize();
+             Workbook actual = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            Sheet expectedSheet = expected.getSheetAt(0);
+            Sheet actualSheet = actual.getSheetAt(0);
+
+            assertThat(actualSheet.getSheetName()).isEqualTo(expectedSheet.getSheetName());
+            assertThat(actualSheet.getLastRowNum()).isEqualTo(expectedSheet.getLastRowNum());
+            for (Row expectedRow : expectedSheet) {
+                Row actualRow = actualSheet.getRow(expectedRow.getRowNum());
+                for (Cell expectedCell : expectedRow) {
+                    Cell actualCell = actualRow.getCell(expectedCell.getColumnIndex());
+                    assertThat(actualCell.toString()).isEqualTo(expectedCell.toString());
+                    assertThat(actualCell.getCellStyle().getDataFormatString())
+                        .isEqualTo(expectedCell.getCellStyle().getDataFormatString());
+                }
+            }
+        }
+    }
+
+    @DisplayName("100만 row를 제한된 힙에서 파일로 export 한다.")
+    @Tag("limited-heap")
+    @Test
+    void exportMillionRowsTest() throws IOException {
+        //given
+        final int rowSize = 1_000_000;
+        ExcelTestDataLoader loader = ExcelTestDataLoader.getInstance(rowSize);
+        File testFile = new File(EXCEL_FILE_NAME);
+        testFile.getParentFile().mkdirs();
+
+        //when
+        try (OutputStream outputStream = new FileOutputStream(testFile)) {
+            loader.export(outputStream);
+        }
+
+        //then
+        assertThat(testFile.length()).isPositive();
+    }
+}
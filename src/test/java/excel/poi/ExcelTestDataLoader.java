@@ -3,7 +3,6 @@ package excel.poi;
 import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
-import org.apache.poi.ss.usermodel.CreationHelper;
 import org.apache.poi.ss.usermodel.FillPatternType;
 import org.apache.poi.ss.usermodel.HorizontalAlignment;
 import org.apache.poi.ss.usermodel.IndexedColors;
@@ -11,16 +10,31 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.VerticalAlignment;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
-import java.sql.Date;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.util.AbstractList;
 import java.util.List;
 
 public class ExcelTestDataLoader {
     private static final List<Student> CACHE;
     private static final int HEADER_ROW = 0;
+    private static final int BATCH_SIZE = 1024;
+    private static final String SHEET_NAME = "학생 명부";
+    private static final LocalDateTime GENERATED_START_DATE = LocalDateTime.of(2000, 3, 2, 9, 0);
+    private static final CellStyleRegistry.Key HEADER_STYLE = CellStyleRegistry.Key.builder()
+        .border(BorderStyle.THIN)
+        .alignment(HorizontalAlignment.CENTER)
+        .verticalAlignment(VerticalAlignment.CENTER)
+        .fillForegroundColor(IndexedColors.AQUA)
+        .fillPattern(FillPatternType.SOLID_FOREGROUND)
+        .build();
+    private static final CellStyleRegistry.Key DATE_STYLE = CellStyleRegistry.Key.builder()
+        .dataFormat("yyyy/mm/d h:mm")
+        .build();
 
     private final List<Student> students;
 
@@ -36,7 +50,7 @@ public class ExcelTestDataLoader {
     }
 
     private ExcelTestDataLoader(List<Student> students) {
-        this.students = CACHE;
+        this.students = students;
     }
 
     public static ExcelTestDataLoader getInstance() {
@@ -45,41 +59,107 @@ public class ExcelTestDataLoader {
         );
     }
 
+    /**
+     * 대용량 테스트용. 주어진 리스트를 복사하지 않고 그대로 사용하므로 지연 생성 리스트도 넘길 수 있다.
+     */
+    public static ExcelTestDataLoader getInstance(List<Student> students) {
+        return new ExcelTestDataLoader(students);
+    }
+
+    /**
+     * size개의 Student를 요청될 때마다 만드는 리스트를 사용한다. 데이터 자체는 힙을 차지하지 않는다.
+     */
+    public static ExcelTestDataLoader getInstance(int size) {
+        return new ExcelTestDataLoader(new AbstractList<>() {
+            @Override
+            public Student get(int index) {
+                return new Student("name" + index, index, index % 2 == 0, index % 100 + 0.5, GENERATED_START_DATE.plusMinutes(index));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        });
+    }
+
     public List<Student> getTestStudents() {
         return students;
     }
 
     public Workbook initialize() {
         Workbook workbook = new XSSFWorkbook();
-        CreationHelper creationHelper = workbook.getCreationHelper();
-        Sheet studentSheet = workbook.createSheet("학생 명부");
+        createStudentSheet(workbook);
+        return workbook;
+    }
+
+    /**
+     * initialize()와 같은 레이아웃의 워크북을 SXSSF로 outputStream에 바로 쓴다.
+     * 메모리에는 최근 rowAccessWindowSize개의 row만 유지하고, 나머지는 압축된 임시 파일로 flush 된다.
+     */
+    public void export(OutputStream outputStream) throws IOException {
+        export(outputStream, SXSSFWorkbook.DEFAULT_WINDOW_SIZE);
+    }
+
+    public void export(OutputStream outputStream, int rowAccessWindowSize) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, rowAccessWindowSize, true);
+        try {
+            createStudentSheet(workbook);
+            workbook.write(outputStream);
+        } finally {
+            // 임시 파일은 close()만으로 지워지지 않는다.
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private void createStudentSheet(Workbook workbook) {
+        CellStyleRegistry styles = new CellStyleRegistry(workbook);
+        Sheet studentSheet = workbook.createSheet(SHEET_NAME);
 
-        createHeaderRow(workbook, studentSheet);
-        for (int rowNum = 0; rowNum < students.size(); rowNum++) {
-            Row row = studentSheet.createRow(rowNum + 1);
+        createHeaderRow(styles, studentSheet);
+        createBodyRows(styles, studentSheet);
+    }
+
+    /**
+     * Student를 BATCH_SIZE개씩 StudentBatch에 옮겨 담고, row는 배치의 primitive 값으로 쓴다.
+     * 배치 하나를 계속 재사용하므로 row를 쓰는 루프에서 날짜 변환용 Date, ZonedDateTime을 만들지 않는다.
+     */
+    private void createBodyRows(CellStyleRegistry styles, Sheet studentSheet) {
+        CellStyle dateCellStyle = styles.get(DATE_STYLE);
+        StudentBatch batch = new StudentBatch(BATCH_SIZE);
+        int rowNum = HEADER_ROW + 1;
+        for (Student student : students) {
+            batch.add(student);
+            if (batch.isFull()) {
+                rowNum = createBatchRows(batch, studentSheet, rowNum, dateCellStyle);
+                batch.clear();
+            }
+        }
+        createBatchRows(batch, studentSheet, rowNum, dateCellStyle);
+    }
+
+    private int createBatchRows(StudentBatch batch, Sheet studentSheet, int rowNum, CellStyle dateCellStyle) {
+        for (int i = 0; i < batch.size(); i++) {
+            Row row = studentSheet.createRow(rowNum++);
             Cell name = row.createCell(0);
-            name.setCellValue(students.get(rowNum).getName());
+            name.setCellValue(batch.getName(i));
             Cell number = row.createCell(1);
-            number.setCellValue(students.get(rowNum).getNumber());
+            number.setCellValue(batch.getNumber(i));
             Cell male = row.createCell(2);
-            male.setCellValue(students.get(rowNum).isMale());
+            male.setCellValue(batch.isMale(i));
             Cell score = row.createCell(3);
-            score.setCellValue(students.get(rowNum).getScore());
+            score.setCellValue(batch.getScore(i));
             Cell startDate = row.createCell(4);
-            startDate.setCellValue(Date.from(students.get(rowNum).getStartDate().atZone(ZoneId.systemDefault()).toInstant()));
-
-            CellStyle dateCellStyle = workbook.createCellStyle();
-            dateCellStyle.setDataFormat(
-                creationHelper.createDataFormat().getFormat("yyyy/mm/d h:mm")
-            );
+            startDate.setCellValue(batch.getExcelDate(i));
             startDate.setCellStyle(dateCellStyle);
         }
-        return workbook;
+        return rowNum;
     }
 
-    private void createHeaderRow(Workbook workbook, Sheet studentSheet) {
+    private void createHeaderRow(CellStyleRegistry styles, Sheet studentSheet) {
         Row headerRow = studentSheet.createRow(HEADER_ROW);
-        CellStyle headerCellStyle = createHeaderCellStyle(workbook);
+        CellStyle headerCellStyle = styles.get(HEADER_STYLE);
         createHeaderCellContent(headerRow);
         // 스타일 적용 후 setCellValue를 하면 스타일이 덮어씌워짐
         for (Cell cell : headerRow) {
@@ -100,20 +180,4 @@ public class ExcelTestDataLoader {
         startDate.setCellValue("입학일");
     }
 
-    private CellStyle createHeaderCellStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        style.setAlignment(HorizontalAlignment.CENTER);
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-
-        style.setFillForegroundColor(IndexedColors.AQUA.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-
-        return style;
-    }
-
 }
@@ -0,0 +1,284 @@
+package excel.poi;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 서로 독립적인 시트를 여러 스레드에서 동시에 만들고 하나의 xlsx(OPC 패키지)로 합친다.
+ * <br>
+ * 시트마다 SXSSFWorkbook 하나를 따로 만들어 임시 파일로 쓴 뒤, 시트 이름과 스타일만 있는 템플릿 워크북의
+ * xl/worksheets/sheetN.xml 파트를 워커가 만든 파트로 바꿔 끼운다. SXSSF가 내부적으로 템플릿에 시트 데이터를 끼워 넣는 방식과 같다.
+ * 압축된 파트는 압축을 풀지 않고 그대로 복사하므로 합치는 비용은 파일 복사 수준이다.
+ * <br>
+ * 제약
+ * <ul>
+ *     <li>시트 xml이 가리키는 스타일 번호가 템플릿과 같아야 하므로, 사용할 스타일은 모두 미리 등록해야 한다.</li>
+ *     <li>SXSSF는 inline string을 쓰므로 shared strings 파트가 필요 없다.</li>
+ *     <li>그림, 댓글, 하이퍼링크처럼 시트의 관계(rels) 파트가 필요한 기능은 지원하지 않는다.</li>
+ * </ul>
+ * 실패하면 나머지 워커를 취소하고, 이미 돌고 있는 워커가 끝날 때까지 기다렸다가 임시 파일을 지운다.
+ */
+public class ParallelSheetExporter implements AutoCloseable {
+    private static final String WORKER_SHEET_PART = "xl/worksheets/sheet1.xml";
+
+    private final ExecutorService executor;
+
+    public ParallelSheetExporter(int threadSize) {
+        this.executor = Executors.newFixedThreadPool(threadSize);
+    }
+
+    /**
+     * @param sheetTasks 시트 순서대로 만들 시트
+     * @param styleKeys  시트에서 사용할 스타일. 템플릿과 모든 워커에 같은 순서로 등록된다.
+     */
+    public void export(List<SheetTask> sheetTasks, List<CellStyleRegistry.Key> styleKeys, OutputStream outputStream)
+        throws IOException {
+        List<SheetJob> sheetJobs = new ArrayList<>();
+        List<Future<Path>> sheetParts = new ArrayList<>();
+        Path template = null;
+        Throwable failure = null;
+        try {
+            for (SheetTask sheetTask : sheetTasks) {
+                SheetJob sheetJob = new SheetJob(sheetTask, styleKeys);
+                sheetJobs.add(sheetJob);
+                sheetParts.add(executor.submit(sheetJob));
+            }
+            template = writeTemplate(sheetTasks, styleKeys);
+            assemble(template, sheetParts, outputStream);
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            deleteQuietly(template, failure);
+            for (Future<Path> sheetPart : sheetParts) {
+                sheetPart.cancel(true);
+            }
+            for (SheetJob sheetJob : sheetJobs) {
+                deleteQuietly(sheetJob.awaitFile(), failure);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private Path writeSheet(SheetTask sheetTask, List<CellStyleRegistry.Key> styleKeys) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, SXSSFWorkbook.DEFAULT_WINDOW_SIZE, true);
+        try {
+            CellStyleRegistry styles = registerStyles(workbook, styleKeys);
+            int styleSize = workbook.getNumCellStyles();
+            sheetTask.getWriter().write(workbook.createSheet(sheetTask.getName()), styles);
+            if (workbook.getNumCellStyles() != styleSize) {
+                throw new IllegalStateException(sheetTask.getName() + " 시트에서 미리 등록하지 않은 스타일을 사용했습니다.");
+            }
+            return writeTempFile(workbook);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private Path writeTemplate(List<SheetTask> sheetTasks, List<CellStyleRegistry.Key> styleKeys) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            registerStyles(workbook, styleKeys);
+            for (SheetTask sheetTask : sheetTasks) {
+                workbook.createSheet(sheetTask.getName());
+            }
+            return writeTempFile(workbook);
+        }
+    }
+
+    private CellStyleRegistry registerStyles(Workbook workbook, List<CellStyleRegistry.Key> styleKeys) {
+        CellStyleRegistry styles = new CellStyleRegistry(workbook);
+        for (CellStyleRegistry.Key styleKey : styleKeys) {
+            styles.get(styleKey);
+        }
+        return styles;
+    }
+
+    private void assemble(Path template, List<Future<Path>> sheetParts, OutputStream outputStream) throws IOException {
+        ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(outputStream);
+        try (ZipFile templateZip = new ZipFile(template.toFile())) {
+            Enumeration<ZipArchiveEntry> entries = templateZip.getEntriesInPhysicalOrder();
+            while (entries.hasMoreElements()) {
+                ZipArchiveEntry entry = entries.nextElement();
+                int sheetIndex = sheetIndex(entry.getName());
+                if (sheetIndex < 0) {
+                    copyRaw(templateZip, entry, entry.getName(), zipOutputStream);
+                    continue;
+                }
+                try (ZipFile sheetZip = new ZipFile(await(sheetParts.get(sheetIndex)).toFile())) {
+                    copyRaw(sheetZip, sheetZip.getEntry(WORKER_SHEET_PART), entry.getName(), zipOutputStream);
+                }
+            }
+        }
+        zipOutputStream.finish();
+    }
+
+    /**
+     * xl/worksheets/sheetN.xml 이면 0부터 시작하는 시트 번호를, 아니면 -1을 돌려준다.
+     */
+    private int sheetIndex(String entryName) {
+        if (!entryName.startsWith("xl/worksheets/sheet") || !entryName.endsWith(".xml")) {
+            return -1;
+        }
+        String number = entryName.substring("xl/worksheets/sheet".length(), entryName.length() - ".xml".length());
+        return Integer.parseInt(number) - 1;
+    }
+
+    private void copyRaw(ZipFile source, ZipArchiveEntry sourceEntry, String name, ZipArchiveOutputStream target)
+        throws IOException {
+        ZipArchiveEntry entry = new ZipArchiveEntry(name);
+        entry.setMethod(sourceEntry.getMethod());
+        entry.setCrc(sourceEntry.getCrc());
+        entry.setSize(sourceEntry.getSize());
+        entry.setCompressedSize(sourceEntry.getCompressedSize());
+        try (InputStream raw = source.getRawInputStream(sourceEntry)) {
+            target.addRawArchiveEntry(entry, raw);
+        }
+    }
+
+    private Path await(Future<Path> sheetPart) throws IOException {
+        try {
+            return sheetPart.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("시트 생성을 기다리다 인터럽트 되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("시트 생성에 실패했습니다.", e.getCause());
+        }
+    }
+
+    private static Path writeTempFile(Workbook workbook) throws IOException {
+        Path file = Files.createTempFile("sheet", ".xlsx");
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            workbook.write(outputStream);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file, e);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * 지우지 못하면 전파 중인 예외가 있을 때만 suppressed로 붙이고, 없으면 무시한다. (임시 디렉터리의 파일이다)
+     */
+    private static void deleteQuietly(Path file, Throwable failure) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            if (failure != null) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * 시트 하나를 임시 파일로 쓰는 작업. Future의 결과와 상관없이 만든 파일을 직접 기억한다.
+     * <br>
+     * cancel(true)는 이미 돌고 있는 작업을 기다려 주지 않으므로, 취소된 뒤에 만들어진 파일은 Future로 받을 수 없다.
+     * 그래서 정리하는 쪽은 시작하지 않은 작업을 먼저 선점하고, 이미 시작한 작업은 끝날 때까지 기다린 뒤 파일을 지운다.
+     */
+    private class SheetJob implements Callable<Path> {
+        private final SheetTask sheetTask;
+        private final List<CellStyleRegistry.Key> styleKeys;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private volatile Path file;
+
+        private SheetJob(SheetTask sheetTask, List<CellStyleRegistry.Key> styleKeys) {
+            this.sheetTask = sheetTask;
+            this.styleKeys = styleKeys;
+        }
+
+        @Override
+        public Path call() throws IOException {
+            if (!claimed.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                file = writeSheet(sheetTask, styleKeys);
+                return file;
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        /**
+         * @return 작업이 만든 임시 파일. 시작하지 않았거나 실패했으면 null
+         */
+        private Path awaitFile() {
+            if (claimed.compareAndSet(false, true)) {
+                return null;
+            }
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    finished.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return file;
+        }
+    }
+
+    @FunctionalInterface
+    public interface SheetWriter {
+        void write(Sheet sheet, CellStyleRegistry styles);
+    }
+
+    public static class SheetTask {
+        private final String name;
+        private final SheetWriter writer;
+
+        public SheetTask(String name, SheetWriter writer) {
+            this.name = name;
+            this.writer = writer;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public SheetWriter getWriter() {
+            return writer;
+        }
+    }
+}
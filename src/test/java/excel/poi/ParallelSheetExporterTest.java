@@ -0,0 +1,178 @@
+package excel.poi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class ParallelSheetExporterTest {
+    private static final CellStyleRegistry.Key HEADER_STYLE = CellStyleRegistry.Key.builder()
+        .border(BorderStyle.THIN)
+        .fillForegroundColor(IndexedColors.AQUA)
+        .fillPattern(FillPatternType.SOLID_FOREGROUND)
+        .build();
+    private static final CellStyleRegistry.Key DATE_STYLE = CellStyleRegistry.Key.builder()
+        .dataFormat("yyyy/mm/d h:mm")
+        .build();
+    private static final List<CellStyleRegistry.Key> STYLES = List.of(HEADER_STYLE, DATE_STYLE);
+
+    private final ExcelRowMapper<Student> mapper = ExcelRowMapper.of(Student.class);
+
+    @DisplayName("여러 스레드에서 만든 시트를 하나의 워크북으로 합친다.")
+    @Test
+    void exportTest() throws IOException {
+        //given
+        List<ParallelSheetExporter.SheetTask> sheetTasks = IntStream.range(0, 5)
+            .mapToObj(i -> new ParallelSheetExporter.SheetTask("학생 명부" + i, studentSheet(students(i * 10 + 1))))
+            .collect(Collectors.toList());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        try (ParallelSheetExporter exporter = new ParallelSheetExporter(3)) {
+            exporter.export(sheetTasks, STYLES, outputStream);
+        }
+
+        //then
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(5);
+            for (int i = 0; i < 5; i++) {
+                Sheet sheet = workbook.getSheetAt(i);
+                assertThat(sheet.getSheetName()).isEqualTo("학생 명부" + i);
+                assertThat(sheet.getLastRowNum()).isEqualTo(i * 10 + 1);
+                assertThat(sheet.getRow(0).getCell(0).getCellStyle().getFillPattern()).isEqualTo(FillPatternType.SOLID_FOREGROUND);
+                assertThat(sheet.getRow(1).getCell(4).getCellStyle().getDataFormatString()).isEqualTo("yyyy/mm/d h:mm");
+                assertThat(mapper.read(sheet.getRow(sheet.getLastRowNum()))).isEqualTo(students(i * 10 + 1).get(i * 10));
+            }
+        }
+    }
+
+    @DisplayName("병합 영역처럼 시트 xml 안에 있는 정보는 그대로 유지된다.")
+    @Test
+    void mergedRegionTest() throws IOException {
+        //given
+        ParallelSheetExporter.SheetTask mergedSheet = new ParallelSheetExporter.SheetTask("merged", (sheet, styles) -> {
+            Row row = sheet.createRow(0);
+            row.createCell(0).setCellValue("This is a test of merging");
+            row.getCell(0).setCellStyle(styles.get(HEADER_STYLE));
+            sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, 6));
+        });
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        try (ParallelSheetExporter exporter = new ParallelSheetExporter(2)) {
+            exporter.export(List.of(mergedSheet), STYLES, outputStream);
+        }
+
+        //then
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            assertThat(workbook.getSheetAt(0).getMergedRegions()).containsExactly(new CellRangeAddress(0, 0, 0, 6));
+        }
+    }
+
+    @DisplayName("미리 등록하지 않은 스타일을 쓰면 예외가 발생한다.")
+    @Test
+    void unregisteredStyleTest() {
+        ParallelSheetExporter.SheetTask sheetTask = new ParallelSheetExporter.SheetTask("test", (sheet, styles) ->
+            sheet.createRow(0).createCell(0).setCellStyle(styles.get(CellStyleRegistry.Key.builder().border(BorderStyle.DOUBLE).build()))
+        );
+
+        try (ParallelSheetExporter exporter = new ParallelSheetExporter(1)) {
+            assertThatThrownBy(() -> exporter.export(List.of(sheetTask), STYLES, OutputStream.nullOutputStream()))
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @DisplayName("실패해도 이미 돌고 있던 워커가 만든 임시 파일까지 지운다.")
+    @Test
+    void deleteTempFilesOnFailureTest() throws IOException, InterruptedException {
+        //given
+        ParallelSheetExporter.SheetTask failingSheet = new ParallelSheetExporter.SheetTask("failing", (sheet, styles) -> {
+            throw new IllegalStateException("시트 생성 실패");
+        });
+        ParallelSheetExporter.SheetTask slowSheet = new ParallelSheetExporter.SheetTask("slow", (sheet, styles) -> {
+            studentSheet(students(10)).write(sheet, styles);
+            sleepUninterruptibly(300);
+        });
+        Set<Path> before = tempSheetFiles();
+
+        //when
+        try (ParallelSheetExporter exporter = new ParallelSheetExporter(2)) {
+            assertThatThrownBy(() -> exporter.export(List.of(failingSheet, slowSheet), STYLES, OutputStream.nullOutputStream()))
+                .isInstanceOf(IllegalStateException.class);
+        }
+        // 취소를 무시한 워커가 뒤늦게 파일을 만들 시간을 준다.
+        Thread.sleep(1_000);
+
+        //then
+        Set<Path> after = tempSheetFiles();
+        after.removeAll(before);
+        assertThat(after).isEmpty();
+    }
+
+    private ParallelSheetExporter.SheetWriter studentSheet(List<Student> students) {
+        return (sheet, styles) -> {
+            mapper.writeHeader(sheet.createRow(0), styles.get(HEADER_STYLE));
+            ExcelRowMapper.RowWriter<Student> writer = mapper.writer(styles);
+            for (int i = 0; i < students.size(); i++) {
+                writer.write(sheet.createRow(i + 1), students.get(i));
+            }
+        };
+    }
+
+    private List<Student> students(int size) {
+        List<Student> students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            students.add(new Student("name" + i, i, i % 2 == 0, i + 0.5, LocalDateTime.of(2022, 1, 1, 0, 0).plusDays(i)));
+        }
+        return students;
+    }
+
+    private Set<Path> tempSheetFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("sheet"))
+                .filter(file -> file.getFileName().toString().endsWith(".xlsx"))
+                .collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * cancel(true)의 인터럽트를 무시하고 끝까지 도는 워커를 흉내 낸다.
+     */
+    private void sleepUninterruptibly(long millis) {
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        boolean interrupted = false;
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(Math.max(1, (deadline - System.nanoTime()) / 1_000_000));
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package excel.poi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StreamingRowWorkbookTest {
+    private static final String EXCEL_FILE_NAME = "src/test/resources/emitting.xlsx";
+
+    private final File testFile = new File(EXCEL_FILE_NAME);
+
+    @BeforeEach
+    void setUp() {
+        testFile.getParentFile().mkdirs();
+    }
+
+    @AfterEach
+    void cleanUpFile() {
+        testFile.delete();
+    }
+
+    @DisplayName("헤더 뒤에 emitter가 만든 row를 이어서 쓴다.")
+    @Test
+    void emitRowsTest() throws IOException {
+        //given
+        List<Student> students = ExcelTestDataLoader.getInstance(1_000).getTestStudents();
+
+        //when
+        try (OutputStream outputStream = new FileOutputStream(testFile)) {
+            writeStudents(students, outputStream, null);
+        }
+
+        //then
+        List<Student> readStudents = new ArrayList<>();
+        StudentSheetReader.read(testFile, readStudents::add);
+        assertThat(readStudents).isEqualTo(students);
+    }
+
+    @DisplayName("row를 다 만들기 전에 출력이 시작된다.")
+    @Test
+    void firstByteBeforeLastRowTest() throws IOException {
+        //given
+        List<Student> students = ExcelTestDataLoader.getInstance(100_000).getTestStudents();
+        CountingOutputStream outputStream = new CountingOutputStream(OutputStream.nullOutputStream());
+        long[] writtenAtFirstRow = new long[1];
+        long[] writtenAtHalf = new long[1];
+
+        //when
+        writeStudents(students, outputStream, rowNum -> {
+            if (rowNum == 0) {
+                writtenAtFirstRow[0] = outputStream.count;
+            }
+            if (rowNum == students.size() / 2) {
+                writtenAtHalf[0] = outputStream.count;
+            }
+        });
+
+        //then
+        assertThat(writtenAtFirstRow[0]).isPositive();
+        assertThat(writtenAtHalf[0]).isGreaterThan(writtenAtFirstRow[0]);
+        assertThat(outputStream.count).isGreaterThan(writtenAtHalf[0]);
+    }
+
+    private void writeStudents(List<Student> students, OutputStream outputStream, RowListener rowListener) throws IOException {
+        ExcelRowMapper<Student> mapper = ExcelRowMapper.of(Student.class);
+        StreamingRowWorkbook workbook = new StreamingRowWorkbook();
+        try {
+            CellStyleRegistry styles = new CellStyleRegistry(workbook);
+            Sheet sheet = workbook.createSheet("학생 명부");
+            mapper.writeHeader(sheet.createRow(0), null);
+            ExcelRowMapper.RowWriter<Student> rowWriter = mapper.writer(styles);
+            workbook.setRowEmitter(sheet, rows -> {
+                for (int i = 0; i < students.size(); i++) {
+                    if (rowListener != null) {
+                        rowListener.onRow(i);
+                    }
+                    rowWriter.write(rows.nextRow(), students.get(i));
+                }
+            });
+            workbook.write(outputStream);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowListener {
+        void onRow(int rowNum);
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package excel.poi;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Student 여러 개를 열 단위 primitive 배열에 담는다.
+ * <br>
+ * 한 번 만든 배치를 clear() 해가며 재사용하면, row를 쓰는 루프에서 Student 필드를 꺼내거나 날짜를 바꾸느라 객체를 만들지 않는다.
+ * <ul>
+ *     <li>이름: 배치 안에서 같은 이름은 같은 번호로 저장한다. 이름 사전은 open addressing int 테이블이라 이름이 모두 달라도 할당이 없다.</li>
+ *     <li>남성 여부: long 하나에 64명씩 bit로 저장한다.</li>
+ *     <li>입학일: 시간대 변환 없이 벽시계 시각 그대로의 epoch millis로 저장하고, 엑셀 날짜 값은 산술로 계산한다.</li>
+ * </ul>
+ */
+public class StudentBatch {
+    private static final double MILLIS_PER_DAY = 24 * 60 * 60 * 1000;
+    // 1900 날짜 체계에서 1970-01-01의 일련번호
+    private static final double EPOCH_EXCEL_DATE = 25569;
+    // 엑셀은 1900-02-29가 있다고 보므로 그 전 날짜는 일련번호가 하루씩 밀린다.
+    private static final long MARCH_1_1900_MILLIS = LocalDateTime.of(1900, 3, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+
+    private final int capacity;
+    private final int[] nameIds;
+    private final int[] numbers;
+    private final long[] maleBits;
+    private final double[] scores;
+    private final long[] startDateMillis;
+    // 이름 사전: nameTable은 이름 번호(빈 칸은 -1)를, names는 번호별 이름을 담는다.
+    // 서로 다른 이름은 배치 크기를 넘지 않으므로 처음부터 최대 크기로 만들고 늘리지 않는다.
+    private final int[] nameTable;
+    private final String[] names;
+    private int nameSize;
+    private int size;
+
+    public StudentBatch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("배치 크기는 0보다 커야 합니다. : " + capacity);
+        }
+        this.capacity = capacity;
+        this.nameIds = new int[capacity];
+        this.numbers = new int[capacity];
+        this.maleBits = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+        this.scores = new double[capacity];
+        this.startDateMillis = new long[capacity];
+        // 적재율 0.5 이하
+        this.nameTable = new int[Integer.highestOneBit(capacity) << 2];
+        this.names = new String[capacity];
+        Arrays.fill(nameTable, -1);
+    }
+
+    public void add(Student student) {
+        if (isFull()) {
+            throw new IllegalStateException("배치가 가득 찼습니다. : " + capacity);
+        }
+        int index = size++;
+        nameIds[index] = nameId(student.getName());
+        numbers[index] = student.getNumber();
+        if (student.isMale()) {
+            maleBits[index >>> 6] |= 1L << index;
+        }
+        scores[index] = student.getScore();
+        startDateMillis[index] = toLocalMillis(student.getStartDate());
+    }
+
+    /**
+     * 배열은 그대로 두고 내용만 비워서 다시 채울 수 있게 한다.
+     */
+    public void clear() {
+        Arrays.fill(maleBits, 0L);
+        Arrays.fill(nameTable, -1);
+        Arrays.fill(names, 0, nameSize, null);
+        nameSize = 0;
+        size = 0;
+    }
+
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 배치 안의 서로 다른 이름 개수
+     */
+    public int getNameSize() {
+        return nameSize;
+    }
+
+    public String getName(int index) {
+        int nameId = nameIds[checkIndex(index)];
+        return nameId < 0 ? null : names[nameId];
+    }
+
+    public int getNumber(int index) {
+        return numbers[checkIndex(index)];
+    }
+
+    public boolean isMale(int index) {
+        return (maleBits[checkIndex(index) >>> 6] & (1L << index)) != 0;
+    }
+
+    public double getScore(int index) {
+        return scores[checkIndex(index)];
+    }
+
+    /**
+     * Cell.setCellValue(double)에 그대로 넣을 수 있는 엑셀 날짜 값(1900 날짜 체계)
+     * <br>
+     * Date.from(startDate.atZone(ZoneId.systemDefault()))로 넣을 때와 같은 값이다.
+     */
+    public double getExcelDate(int index) {
+        long localMillis = startDateMillis[checkIndex(index)];
+        if (localMillis < MARCH_1_1900_MILLIS) {
+            return DateUtil.getExcelDate(getStartDate(index));
+        }
+        return localMillis / MILLIS_PER_DAY + EPOCH_EXCEL_DATE;
+    }
+
+    public LocalDateTime getStartDate(int index) {
+        return LocalDateTime.ofEpochSecond(
+            Math.floorDiv(startDateMillis[checkIndex(index)], 1000L),
+            (int) Math.floorMod(startDateMillis[index], 1000L) * 1_000_000,
+            ZoneOffset.UTC
+        );
+    }
+
+    private int nameId(String name) {
+        if (name == null) {
+            return -1;
+        }
+        int hash = name.hashCode();
+        int mask = nameTable.length - 1;
+        for (int i = (hash ^ (hash >>> 16)) & mask; ; i = (i + 1) & mask) {
+            int nameId = nameTable[i];
+            if (nameId < 0) {
+                nameId = nameSize++;
+                names[nameId] = name;
+                nameTable[i] = nameId;
+                return nameId;
+            }
+            if (names[nameId].equals(name)) {
+                return nameId;
+            }
+        }
+    }
+
+    private long toLocalMillis(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000L + dateTime.getNano() / 1_000_000;
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+}
@@ -0,0 +1,98 @@
+package excel.poi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+public class StudentBatchTest {
+
+    @DisplayName("산술로 계산한 엑셀 날짜 값은 Date로 넣은 값과 같다.")
+    @Test
+    void excelDateTest() {
+        //given
+        List<LocalDateTime> dates = List.of(
+            LocalDateTime.of(1900, 1, 1, 0, 0),
+            LocalDateTime.of(1900, 3, 1, 0, 0),
+            LocalDateTime.of(1970, 5, 21, 1, 15),
+            LocalDateTime.of(2000, 1, 11, 4, 59, 59, 999_000_000),
+            LocalDateTime.of(2022, 1, 1, 0, 0)
+        );
+        StudentBatch batch = new StudentBatch(dates.size());
+
+        //when
+        for (LocalDateTime date : dates) {
+            batch.add(new Student("name", 1, true, 1.0, date));
+        }
+
+        //then
+        for (int i = 0; i < dates.size(); i++) {
+            LocalDateTime date = dates.get(i);
+            assertThat(batch.getStartDate(i)).isEqualTo(date);
+            assertThat(batch.getExcelDate(i)).isCloseTo(DateUtil.getExcelDate(date), offset(1e-9));
+            if (date.getYear() > 1900) {
+                double fromDate = DateUtil.getExcelDate(Date.from(date.atZone(ZoneId.systemDefault()).toInstant()));
+                assertThat(batch.getExcelDate(i)).isCloseTo(fromDate, offset(1e-9));
+            }
+        }
+    }
+
+    @DisplayName("같은 이름은 한 번만 저장하고, clear() 후에는 비어있는 상태로 다시 채운다.")
+    @Test
+    void dictionaryAndReuseTest() {
+        //given
+        StudentBatch batch = new StudentBatch(100);
+        LocalDateTime date = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+        //when
+        for (int i = 0; i < 100; i++) {
+            batch.add(new Student("name" + i % 3, i, i % 2 == 0, i + 0.5, date));
+        }
+
+        //then
+        assertThat(batch.isFull()).isTrue();
+        assertThat(batch.getNameSize()).isEqualTo(3);
+        assertThat(batch.getName(64)).isEqualTo("name1");
+        assertThat(batch.isMale(64)).isTrue();
+        assertThat(batch.isMale(65)).isFalse();
+        assertThat(batch.getNumber(99)).isEqualTo(99);
+        assertThat(batch.getScore(99)).isEqualTo(99.5);
+
+        batch.clear();
+        batch.add(new Student(null, 0, false, 0, date));
+        assertThat(batch.size()).isEqualTo(1);
+        assertThat(batch.getNameSize()).isZero();
+        assertThat(batch.getName(0)).isNull();
+        assertThat(batch.isMale(0)).isFalse();
+    }
+
+    @DisplayName("이름이 모두 달라도 배치 크기만큼 담고, clear() 후 다시 같은 번호를 쓴다.")
+    @Test
+    void uniqueNamesTest() {
+        //given
+        final int capacity = 1000;
+        StudentBatch batch = new StudentBatch(capacity);
+        LocalDateTime date = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+        for (int round = 0; round < 2; round++) {
+            //when
+            for (int i = 0; i < capacity; i++) {
+                batch.add(new Student("name" + (round * capacity + i), i, false, 0, date));
+            }
+
+            //then
+            assertThat(batch.getNameSize()).isEqualTo(capacity);
+            for (int i = 0; i < capacity; i++) {
+                assertThat(batch.getName(i)).isEqualTo("name" + (round * capacity + i));
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package excel.poi;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * ExcelTestDataLoader가 만든 "학생 명부" 시트를 SAX 이벤트로 읽는다.
+ * <br>
+ * XSSFWorkbook처럼 시트 전체를 DOM으로 올리지 않고 row 단위로 Student를 만들어 넘기므로, row 수와 상관없이 row 데이터의 메모리 사용량이 일정하다.
+ * <br>
+ * shared strings 테이블은 예외다. 문자열 셀을 처음 만났을 때 ReadOnlySharedStringsTable이 sst 파트 전체를 메모리에 올리므로,
+ * XSSF로 만든 파일은 서로 다른 문자열 수만큼 메모리를 쓴다. SXSSF로 만든 파일은 inline string을 쓰므로 아예 읽지 않는다.
+ * <br>
+ * 빈 셀은 Student의 기본값(숫자 0, false, 날짜 null)으로 읽는다. 숫자 칸에 숫자가 아닌 값이 있으면 행과 열을 담아 IllegalArgumentException을 던진다.
+ */
+public class StudentSheetReader {
+    private static final String SHEET_NAME = "학생 명부";
+    private static final int HEADER_ROW = 0;
+    static final int QUEUE_CAPACITY = 1024;
+    private static final Object END = new Object();
+
+    private StudentSheetReader() {
+    }
+
+    public static void read(File file, Consumer<Student> consumer) throws IOException {
+        OPCPackage pkg = null;
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+            XSSFReader reader = new XSSFReader(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    if (SHEET_NAME.equals(sheets.getSheetName())) {
+                        parse(reader, new LazySharedStrings(pkg), sheet, consumer);
+                        return;
+                    }
+                }
+            }
+            throw new IllegalArgumentException(file + "에 " + SHEET_NAME + " 시트가 없습니다.");
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException(file + " 읽기에 실패했습니다.", e);
+        } finally {
+            // 읽기 전용 패키지는 close()가 아니라 revert()로 닫는다.
+            if (pkg != null) {
+                pkg.revert();
+            }
+        }
+    }
+
+    /**
+     * 별도 스레드에서 파싱하고 크기가 제한된 큐로 row를 넘겨받는다. 다 쓴 스트림은 close 해야 파싱 스레드가 멈춘다.
+     * <br>
+     * 파싱에 실패해도 큐에는 항상 END를 넣는다. 실패 원인은 필드에 두고, 소비하는 쪽이 END를 꺼냈을 때 던진다.
+     */
+    public static Stream<Student> stream(File file) {
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        SheetParser sheetParser = new SheetParser(file, queue);
+        Thread parser = new Thread(sheetParser, "student-sheet-reader");
+        parser.setDaemon(true);
+        parser.start();
+
+        Iterator<Student> iterator = new Iterator<>() {
+            private Object next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    next = take(queue);
+                }
+                if (next == END && sheetParser.failure != null) {
+                    throw new IllegalStateException(file + " 읽기에 실패했습니다.", sheetParser.failure);
+                }
+                return next != END;
+            }
+
+            @Override
+            public Student next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Student student = (Student) next;
+                next = null;
+                return student;
+            }
+        };
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false
+        ).onClose(parser::interrupt);
+    }
+
+    private static void parse(XSSFReader reader, SharedStrings sharedStrings, InputStream sheet, Consumer<Student> consumer)
+        throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        XMLReader xmlReader = XMLHelper.newXMLReader();
+        xmlReader.setContentHandler(new XSSFSheetXMLHandler(
+            reader.getStylesTable(), sharedStrings, new StudentRowHandler(consumer), new RawValueFormatter(), false
+        ));
+        xmlReader.parse(new InputSource(sheet));
+    }
+
+    private static void put(BlockingQueue<Object> queue, Object item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+    }
+
+    private static Object take(BlockingQueue<Object> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * 큐가 가득 차 있어도 실패를 잃지 않도록, 실패 원인은 volatile 필드에 두고 END는 blocking put으로 넣는다.
+     * close 되어 인터럽트되면 END 없이 끝난다.
+     */
+    private static class SheetParser implements Runnable {
+        private final File file;
+        private final BlockingQueue<Object> queue;
+        private volatile Throwable failure;
+
+        private SheetParser(File file, BlockingQueue<Object> queue) {
+            this.file = file;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try {
+                read(file, student -> put(queue, student));
+            } catch (CancellationException e) {
+                // close 되어 더 읽을 필요가 없다.
+                return;
+            } catch (Throwable e) {
+                failure = e;
+            }
+            try {
+                put(queue, END);
+            } catch (CancellationException e) {
+                // END를 기다리던 중에 close 되었다.
+            }
+        }
+    }
+
+    /**
+     * 한 row의 셀 값을 모았다가 row가 끝나면 Student를 만든다. 값 배열은 row마다 재사용한다.
+     */
+    private static class StudentRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final Consumer<Student> consumer;
+        private final String[] values = new String[5];
+
+        private StudentRowHandler(Consumer<Student> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = null;
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum == HEADER_ROW) {
+                return;
+            }
+            double excelDate = number(rowNum, 4);
+            consumer.accept(new Student(
+                values[0],
+                (int) number(rowNum, 1),
+                Boolean.parseBoolean(values[2]),
+                number(rowNum, 3),
+                values[4] == null ? null : DateUtil.getLocalDateTime(excelDate)
+            ));
+        }
+
+        /**
+         * 빈 셀은 0으로 읽는다. (Cell.getNumericCellValue와 같다)
+         */
+        private double number(int rowNum, int column) {
+            String value = values[column];
+            if (value == null) {
+                return 0;
+            }
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(
+                    (rowNum + 1) + "행 " + (char) ('A' + column) + "열의 값 '" + value + "'를 숫자로 읽을 수 없습니다.", e
+                );
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = columnIndex(cellReference);
+            if (column < values.length) {
+                values[column] = formattedValue;
+            }
+        }
+
+        private int columnIndex(String cellReference) {
+            int column = 0;
+            for (int i = 0; i < cellReference.length() && Character.isLetter(cellReference.charAt(i)); i++) {
+                column = column * 26 + (cellReference.charAt(i) - 'A' + 1);
+            }
+            return column - 1;
+        }
+    }
+
+    /**
+     * 날짜처럼 포맷이 지정된 숫자 셀도 포맷하지 않은 원래 값을 돌려준다.
+     */
+    private static class RawValueFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            return Double.toString(value);
+        }
+    }
+
+    /**
+     * sst 파트는 처음 쓸 때 읽는다. 읽을 때는 ReadOnlySharedStringsTable이 문자열 전체를 메모리에 올린다.
+     */
+    private static class LazySharedStrings implements SharedStrings {
+        private final OPCPackage pkg;
+        private SharedStrings delegate;
+
+        private LazySharedStrings(OPCPackage pkg) {
+            this.pkg = pkg;
+        }
+
+        @Override
+        public RichTextString getItemAt(int idx) {
+            return load().getItemAt(idx);
+        }
+
+        @Override
+        public int getCount() {
+            return load().getCount();
+        }
+
+        @Override
+        public int getUniqueCount() {
+            return load().getUniqueCount();
+        }
+
+        private SharedStrings load() {
+            if (delegate == null) {
+                try {
+                    delegate = new ReadOnlySharedStringsTable(pkg, false);
+                } catch (IOException | SAXException e) {
+                    throw new IllegalStateException("shared strings 읽기에 실패했습니다.", e);
+                }
+            }
+            return delegate;
+        }
+    }
+}
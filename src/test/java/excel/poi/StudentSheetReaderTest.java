@@ -0,0 +1,197 @@
+package excel.poi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class StudentSheetReaderTest {
+    private static final String EXCEL_FILE_NAME = "src/test/resources/reader.xlsx";
+
+    private final File testFile = new File(EXCEL_FILE_NAME);
+
+    @BeforeEach
+    void setUp() {
+        testFile.getParentFile().mkdirs();
+    }
+
+    @AfterEach
+    void cleanUpFile() {
+        testFile.delete();
+    }
+
+    @DisplayName("XSSF로 만든 파일(shared strings)을 Student로 읽는다.")
+    @Test
+    void readSharedStringsFileTest() throws IOException {
+        //given
+        ExcelTestDataLoader loader = ExcelTestDataLoader.getInstance();
+        try (Workbook workbook = loader.initialize();
+             OutputStream outputStream = new FileOutputStream(testFile)) {
+            workbook.write(outputStream);
+        }
+
+        //when
+        List<Student> students = new ArrayList<>();
+        StudentSheetReader.read(testFile, students::add);
+
+        //then
+        assertThat(students).isEqualTo(loader.getTestStudents());
+    }
+
+    @DisplayName("SXSSF로 만든 파일(inline string)을 스트림으로 읽는다.")
+    @Test
+    void streamInlineStringsFileTest() throws IOException {
+        //given
+        ExcelTestDataLoader loader = ExcelTestDataLoader.getInstance();
+        try (OutputStream outputStream = new FileOutputStream(testFile)) {
+            loader.export(outputStream);
+        }
+
+        //when
+        List<Student> students;
+        try (Stream<Student> stream = StudentSheetReader.stream(testFile)) {
+            students = stream.collect(Collectors.toList());
+        }
+
+        //then
+        assertThat(students).isEqualTo(loader.getTestStudents());
+    }
+
+    @DisplayName("제한된 힙에서 큰 파일을 끝까지 읽는다.")
+    @Test
+    void streamLargeFileTest() throws IOException {
+        //given
+        final int rowSize = 300_000;
+        ExcelTestDataLoader loader = ExcelTestDataLoader.getInstance(rowSize);
+        try (OutputStream outputStream = new FileOutputStream(testFile)) {
+            loader.export(outputStream);
+        }
+
+        //when
+        long count;
+        Student last;
+        try (Stream<Student> stream = StudentSheetReader.stream(testFile)) {
+            last = stream.peek(student -> assertThat(student.getName()).startsWith("name"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        }
+        try (Stream<Student> stream = StudentSheetReader.stream(testFile)) {
+            count = stream.count();
+        }
+
+        //then
+        assertThat(count).isEqualTo(rowSize);
+        assertThat(last).isEqualTo(loader.getTestStudents().get(rowSize - 1));
+    }
+
+    @DisplayName("스트림을 중간에 닫아도 된다.")
+    @Test
+    void closeStreamEarlyTest() throws IOException {
+        //given
+        try (OutputStream outputStream = new FileOutputStream(testFile)) {
+            ExcelTestDataLoader.getInstance().export(outputStream);
+        }
+
+        //when
+        List<Student> firstTwo;
+        try (Stream<Student> stream = StudentSheetReader.stream(testFile)) {
+            firstTwo = stream.limit(2).collect(Collectors.toList());
+        }
+
+        //then
+        assertThat(firstTwo).hasSize(2);
+    }
+
+    @DisplayName("빈 셀은 기본값으로 읽는다.")
+    @Test
+    void readBlankCellsTest() throws IOException {
+        //given
+        try (Workbook workbook = new XSSFWorkbook();
+             OutputStream outputStream = new FileOutputStream(testFile)) {
+            Sheet sheet = workbook.createSheet("학생 명부");
+            sheet.createRow(0).createCell(0).setCellValue("이름");
+            sheet.createRow(1).createCell(0).setCellValue("name0");
+            workbook.write(outputStream);
+        }
+
+        //when
+        List<Student> students = new ArrayList<>();
+        StudentSheetReader.read(testFile, students::add);
+
+        //then
+        assertThat(students).containsExactly(new Student("name0", 0, false, 0.0, null));
+    }
+
+    @DisplayName("큐가 가득 찬 상태에서 파싱에 실패해도 소비하는 쪽에 실패가 전달된다.")
+    @Test
+    void failWhileQueueIsFullTest() throws IOException {
+        //given
+        final int badRowNum = StudentSheetReader.QUEUE_CAPACITY + 1;
+        try (Workbook workbook = new XSSFWorkbook();
+             OutputStream outputStream = new FileOutputStream(testFile)) {
+            Sheet sheet = workbook.createSheet("학생 명부");
+            sheet.createRow(0).createCell(0).setCellValue("이름");
+            for (int rowNum = 1; rowNum <= badRowNum; rowNum++) {
+                Row row = sheet.createRow(rowNum);
+                row.createCell(0).setCellValue("name" + rowNum);
+                row.createCell(1).setCellValue(rowNum);
+                row.createCell(3).setCellValue(rowNum);
+                row.createCell(4).setCellValue(LocalDateTime.of(2022, 1, 1, 0, 0));
+            }
+            sheet.getRow(badRowNum).createCell(3).setCellValue("점수 아님");
+            workbook.write(outputStream);
+        }
+
+        //when, then
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            try (Stream<Student> stream = StudentSheetReader.stream(testFile)) {
+                Iterator<Student> students = stream.iterator();
+                // 파싱 스레드가 QUEUE_CAPACITY개를 채우고 실패할 때까지 하나도 꺼내지 않는다.
+                awaitParserBlockedOrDone();
+                for (int i = 0; i < StudentSheetReader.QUEUE_CAPACITY; i++) {
+                    assertThat(students.next().getNumber()).isEqualTo(i + 1);
+                }
+                assertThatThrownBy(students::hasNext)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasRootCauseInstanceOf(NumberFormatException.class)
+                    .satisfies(e -> assertThat(e.getCause()).hasMessageContaining((badRowNum + 1) + "행 D열"));
+            }
+        });
+    }
+
+    /**
+     * 파싱 스레드가 큐에 넣으려고 기다리고 있거나 이미 끝났을 때까지 기다린다.
+     */
+    private void awaitParserBlockedOrDone() throws InterruptedException {
+        while (true) {
+            Thread parser = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> "student-sheet-reader".equals(thread.getName()))
+                .findFirst()
+                .orElse(null);
+            if (parser == null || parser.getState() == Thread.State.WAITING) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+}
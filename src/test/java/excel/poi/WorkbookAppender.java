@@ -0,0 +1,353 @@
+package excel.poi;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ExcelTestDataLoader가 만든 "학생 명부" 시트 끝에 row를 덧붙인다.
+ * <br>
+ * XSSFWorkbook으로 파일 전체를 읽고 다시 쓰지 않고 zip 파트 단위로 처리한다.
+ * <ul>
+ *     <li>시트 파트: 압축을 풀면서 그대로 복사하다가 &lt;/sheetData&gt; 앞에 새 row를 끼워 넣는다. 파트 전체를 메모리에 올리지 않는다.</li>
+ *     <li>styles.xml: 날짜 스타일이 없을 때만 추가해서 다시 쓴다.</li>
+ *     <li>나머지 파트: 압축된 바이트를 그대로 복사한다. 새 문자열은 inline string으로 쓰므로 shared strings 파트도 그대로 복사된다.</li>
+ * </ul>
+ * 비용은 새 row 개수와 대상 시트 파트 크기에만 비례하고, 다른 시트나 그림 같은 파트의 크기와는 상관이 없다.
+ * WorkbookFileWriter로 임시 파일에 쓴 뒤 바꿔치기하므로 실패해도 원본 파일은 그대로 남는다.
+ */
+public class WorkbookAppender {
+    private static final String SHEET_NAME = "학생 명부";
+    private static final String DATE_FORMAT = "yyyy/mm/d h:mm";
+    private static final byte[] SHEET_DATA_START = "<sheetData".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SHEET_DATA_END = "</sheetData>".getBytes(StandardCharsets.US_ASCII);
+
+    private WorkbookAppender() {
+    }
+
+    public static void append(Path file, Iterable<Student> students) throws IOException {
+        AppendTarget target = findTarget(file);
+        WorkbookFileWriter.create().write(file, outputStream -> copyWithRows(file, target, students, outputStream));
+    }
+
+    private static AppendTarget findTarget(Path file) throws IOException {
+        OPCPackage pkg = null;
+        try {
+            pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+            XSSFReader reader = new XSSFReader(pkg);
+            // getStylesTable()은 부를 때마다 styles.xml을 다시 파싱한다.
+            StylesTable styles = reader.getStylesTable();
+            if (styles == null) {
+                throw new IllegalArgumentException(file + "에 styles.xml이 없습니다.");
+            }
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                // 시트 xml은 읽지 않고 이름만 본다.
+                sheets.next().close();
+                if (SHEET_NAME.equals(sheets.getSheetName())) {
+                    return new AppendTarget(entryName(sheets.getSheetPart()), styles);
+                }
+            }
+            throw new IllegalArgumentException(file + "에 " + SHEET_NAME + " 시트가 없습니다.");
+        } catch (OpenXML4JException e) {
+            throw new IOException(file + " 읽기에 실패했습니다.", e);
+        } finally {
+            // 읽기 전용 패키지는 close()가 아니라 revert()로 닫는다.
+            if (pkg != null) {
+                pkg.revert();
+            }
+        }
+    }
+
+    private static String entryName(PackagePart part) {
+        return part.getPartName().getName().substring(1);
+    }
+
+    private static void copyWithRows(Path file, AppendTarget target, Iterable<Student> students, OutputStream outputStream)
+        throws IOException {
+        ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(outputStream);
+        try (ZipFile source = new ZipFile(file.toFile())) {
+            Enumeration<ZipArchiveEntry> entries = source.getEntriesInPhysicalOrder();
+            while (entries.hasMoreElements()) {
+                ZipArchiveEntry entry = entries.nextElement();
+                if (entry.getName().equals(target.sheetPart)) {
+                    zipOutputStream.putArchiveEntry(new ZipArchiveEntry(entry.getName()));
+                    try (InputStream sheetXml = source.getInputStream(entry)) {
+                        appendRows(sheetXml, zipOutputStream, students, target.dateStyle);
+                    }
+                    zipOutputStream.closeArchiveEntry();
+                } else if (entry.getName().equals(target.stylesPart) && target.stylesChanged) {
+                    zipOutputStream.putArchiveEntry(new ZipArchiveEntry(entry.getName()));
+                    target.styles.writeTo(zipOutputStream);
+                    zipOutputStream.closeArchiveEntry();
+                } else {
+                    copyRaw(source, entry, zipOutputStream);
+                }
+            }
+        }
+        zipOutputStream.finish();
+    }
+
+    /**
+     * &lt;dimension&gt;은 덧붙인 뒤의 범위를 미리 알 수 없으므로 뺀다. 선택 요소라서 없어도 엑셀과 POI 모두 읽을 수 있다.
+     */
+    private static void appendRows(InputStream sheetXml, OutputStream outputStream, Iterable<Student> students, int dateStyle)
+        throws IOException {
+        SheetPartCopier copier = new SheetPartCopier(sheetXml);
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        if (!copier.copyUntil(SHEET_DATA_START, header)) {
+            throw new IOException(SHEET_NAME + " 시트에 sheetData가 없습니다.");
+        }
+        String headerXml = header.toString(StandardCharsets.ISO_8859_1).replaceFirst("<dimension[^>]*/>", "");
+        outputStream.write(headerXml.getBytes(StandardCharsets.ISO_8859_1));
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        String sheetDataRest = copier.readUntilTagEnd();
+        if (sheetDataRest.endsWith("/>")) {
+            writer.write("<sheetData>");
+            writeRows(writer, students, 0, dateStyle);
+        } else {
+            outputStream.write(SHEET_DATA_START);
+            outputStream.write(sheetDataRest.getBytes(StandardCharsets.ISO_8859_1));
+            if (!copier.copyUntil(SHEET_DATA_END, outputStream)) {
+                throw new IOException(SHEET_NAME + " 시트의 sheetData가 닫히지 않았습니다.");
+            }
+            writeRows(writer, students, copier.getLastRowNum(), dateStyle);
+        }
+        writer.write("</sheetData>");
+        // writer를 닫으면 zip까지 닫히므로 flush만 한다.
+        writer.flush();
+        copier.copyRest(outputStream);
+    }
+
+    /**
+     * @param lastRowNum 마지막 row의 r 속성(1부터 시작). row가 없으면 0
+     */
+    private static void writeRows(Writer writer, Iterable<Student> students, int lastRowNum, int dateStyle) throws IOException {
+        int rowNum = lastRowNum;
+        for (Student student : students) {
+            String r = Integer.toString(++rowNum);
+            writer.append("<row r=\"").append(r).append("\">");
+            if (student.getName() != null) {
+                writer.append("<c r=\"A").append(r).append("\" t=\"inlineStr\"><is><t>")
+                    .append(escape(student.getName()))
+                    .append("</t></is></c>");
+            }
+            writer.append("<c r=\"B").append(r).append("\"><v>")
+                .append(Integer.toString(student.getNumber()))
+                .append("</v></c>");
+            writer.append("<c r=\"C").append(r).append("\" t=\"b\"><v>")
+                .append(student.isMale() ? "1" : "0")
+                .append("</v></c>");
+            writer.append("<c r=\"D").append(r).append("\"><v>")
+                .append(Double.toString(student.getScore()))
+                .append("</v></c>");
+            if (student.getStartDate() != null) {
+                writer.append("<c r=\"E").append(r).append("\" s=\"").append(Integer.toString(dateStyle)).append("\"><v>")
+                    .append(Double.toString(DateUtil.getExcelDate(student.getStartDate())))
+                    .append("</v></c>");
+            }
+            writer.append("</row>");
+        }
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static void copyRaw(ZipFile source, ZipArchiveEntry sourceEntry, ZipArchiveOutputStream target) throws IOException {
+        ZipArchiveEntry entry = new ZipArchiveEntry(sourceEntry.getName());
+        entry.setMethod(sourceEntry.getMethod());
+        entry.setCrc(sourceEntry.getCrc());
+        entry.setSize(sourceEntry.getSize());
+        entry.setCompressedSize(sourceEntry.getCompressedSize());
+        try (InputStream raw = source.getRawInputStream(sourceEntry)) {
+            target.addRawArchiveEntry(entry, raw);
+        }
+    }
+
+    private static class AppendTarget {
+        private final String sheetPart;
+        private final String stylesPart;
+        private final StylesTable styles;
+        private final int dateStyle;
+        private final boolean stylesChanged;
+
+        private AppendTarget(String sheetPart, StylesTable styles) {
+            this.sheetPart = sheetPart;
+            this.stylesPart = entryName(styles.getPackagePart());
+            this.styles = styles;
+            int existing = findStyle(styles);
+            this.stylesChanged = existing < 0;
+            this.dateStyle = stylesChanged ? createStyle(styles) : existing;
+        }
+
+        private static int findStyle(StylesTable styles) {
+            for (int i = 0; i < styles.getNumCellStyles(); i++) {
+                if (DATE_FORMAT.equals(styles.getStyleAt(i).getDataFormatString())) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static int createStyle(StylesTable styles) {
+            XSSFCellStyle style = styles.createCellStyle();
+            style.setDataFormat(styles.putNumberFormat(DATE_FORMAT));
+            return style.getIndex();
+        }
+    }
+
+    /**
+     * 압축이 풀린 시트 xml을 바이트 단위로 훑으며 복사한다. xml 파서를 거치지 않으므로 복사 비용은 inflate/deflate 수준이다.
+     */
+    private static class SheetPartCopier {
+        private static final int BUFFER_SIZE = 64 * 1024;
+        private static final byte[] ROW_START = "<row ".getBytes(StandardCharsets.US_ASCII);
+        private static final Pattern ROW_NUM = Pattern.compile("(?:^|\\s)r=\"(\\d+)\"");
+        private static final int MAX_ROW_TAG_LENGTH = 256;
+
+        private final InputStream inputStream;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private int lastRowNum;
+
+        private SheetPartCopier(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        /**
+         * marker 직전까지를 target에 쓰고 marker는 건너뛴다. marker를 찾지 못하면 false
+         * <br>
+         * marker와 일치하는 중인 바이트는 쓰지 않고 들고 있다가, 어긋나면 그때 쓴다.
+         * 버퍼 경계를 넘어 일치 중이던 바이트는 marker 앞부분과 같으므로 marker에서 다시 꺼내 쓴다.
+         */
+        private boolean copyUntil(byte[] marker, OutputStream target) throws IOException {
+            int matched = 0;
+            int carried = 0;
+            int runStart = position;
+            int rowMatched = 0;
+            StringBuilder rowTag = null;
+            while (true) {
+                if (position == limit) {
+                    target.write(buffer, runStart, limit - runStart - (matched - carried));
+                    carried = matched;
+                    if (!fill()) {
+                        return false;
+                    }
+                    runStart = 0;
+                }
+                byte b = buffer[position++];
+
+                if (rowTag != null) {
+                    if (b == '>' || rowTag.length() > MAX_ROW_TAG_LENGTH) {
+                        updateLastRowNum(rowTag);
+                        rowTag = null;
+                    } else {
+                        rowTag.append((char) b);
+                    }
+                } else if (b == ROW_START[rowMatched]) {
+                    if (++rowMatched == ROW_START.length) {
+                        rowMatched = 0;
+                        rowTag = new StringBuilder();
+                    }
+                } else {
+                    rowMatched = b == ROW_START[0] ? 1 : 0;
+                }
+
+                if (b == marker[matched]) {
+                    if (++matched == marker.length) {
+                        target.write(buffer, runStart, position - runStart - (marker.length - carried));
+                        return true;
+                    }
+                    continue;
+                }
+                if (carried > 0) {
+                    target.write(marker, 0, carried);
+                    carried = 0;
+                }
+                matched = b == marker[0] ? 1 : 0;
+            }
+        }
+
+        /**
+         * copyUntil()로 찾은 태그 이름 뒤의 속성과 '>'까지를 읽는다.
+         */
+        private String readUntilTagEnd() throws IOException {
+            StringBuilder tag = new StringBuilder();
+            while (position < limit || fill()) {
+                char c = (char) buffer[position++];
+                tag.append(c);
+                if (c == '>') {
+                    return tag.toString();
+                }
+            }
+            throw new IOException(SHEET_NAME + " 시트의 태그가 닫히지 않았습니다.");
+        }
+
+        private void copyRest(OutputStream target) throws IOException {
+            target.write(buffer, position, limit - position);
+            position = limit;
+            inputStream.transferTo(target);
+        }
+
+        private int getLastRowNum() {
+            return lastRowNum;
+        }
+
+        private void updateLastRowNum(CharSequence rowTag) {
+            Matcher matcher = ROW_NUM.matcher(rowTag);
+            if (matcher.find()) {
+                lastRowNum = Integer.parseInt(matcher.group(1));
+            } else {
+                lastRowNum++;
+            }
+        }
+
+        private boolean fill() throws IOException {
+            int read = inputStream.read(buffer);
+            position = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package excel.poi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class WorkbookAppenderTest {
+    private static final Path EXCEL_FILE = Path.of("src/test/resources/append.xlsx");
+    private static final String SHEET_PART = "xl/worksheets/sheet1.xml";
+
+    @AfterEach
+    void cleanUpFile() throws IOException {
+        Files.deleteIfExists(EXCEL_FILE);
+    }
+
+    @DisplayName("XSSF로 만든 파일 끝에 row를 덧붙인다.")
+    @Test
+    void appendToXssfTest() throws IOException {
+        //given
+        ExcelTestDataLoader loader = ExcelTestDataLoader.getInstance();
+        try (Workbook workbook = loader.initialize()) {
+            WorkbookFileWriter.create().write(workbook, EXCEL_FILE);
+        }
+        List<Student> appended = ExcelTestDataLoader.getInstance(1_000).getTestStudents();
+
+        //when
+        WorkbookAppender.append(EXCEL_FILE, appended);
+
+        //then
+        List<Student> expected = new ArrayList<>(loader.getTestStudents());
+        expected.addAll(appended);
+        assertThat(readStudents()).isEqualTo(expected);
+        try (Workbook workbook = new XSSFWorkbook(EXCEL_FILE.toFile())) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(expected.size());
+            assertThat(sheet.getRow(expected.size()).getCell(4).getCellStyle().getDataFormatString())
+                .isEqualTo("yyyy/mm/d h:mm");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DisplayName("시트 파트를 뺀 나머지 파트는 압축된 바이트 그대로 복사한다.")
+    @Test
+    void copyOtherPartsRawTest() throws IOException {
+        //given
+        WorkbookFileWriter.create().write(EXCEL_FILE, ExcelTestDataLoader.getInstance(10_000)::export);
+        Map<String, ZipArchiveEntry> before = entries();
+
+        //when
+        WorkbookAppender.append(EXCEL_FILE, ExcelTestDataLoader.getInstance(10).getTestStudents());
+
+        //then
+        Map<String, ZipArchiveEntry> after = entries();
+        assertThat(after.keySet()).isEqualTo(before.keySet());
+        for (String name : before.keySet()) {
+            if (name.equals(SHEET_PART)) {
+                assertThat(after.get(name).getSize()).isGreaterThan(before.get(name).getSize());
+                continue;
+            }
+            assertThat(after.get(name).getCrc()).as(name).isEqualTo(before.get(name).getCrc());
+            assertThat(after.get(name).getCompressedSize()).as(name).isEqualTo(before.get(name).getCompressedSize());
+        }
+        assertThat(readStudents()).hasSize(10_010);
+    }
+
+    @DisplayName("날짜 스타일이 없는 빈 시트에는 스타일을 추가하고 첫 row부터 쓴다.")
+    @Test
+    void appendToEmptySheetTest() throws IOException {
+        //given
+        try (Workbook workbook = new XSSFWorkbook()) {
+            workbook.createSheet("학생 명부");
+            WorkbookFileWriter.create().write(workbook, EXCEL_FILE);
+        }
+        List<Student> appended = ExcelTestDataLoader.getInstance(3).getTestStudents();
+
+        //when
+        WorkbookAppender.append(EXCEL_FILE, appended);
+
+        //then
+        // 헤더가 없으므로 첫 row는 StudentSheetReader가 헤더로 보고 건너뛴다.
+        assertThat(readStudents()).isEqualTo(appended.subList(1, appended.size()));
+        try (Workbook workbook = new XSSFWorkbook(EXCEL_FILE.toFile())) {
+            assertThat(workbook.getSheetAt(0).getRow(0).getCell(4).getCellStyle().getDataFormatString())
+                .isEqualTo("yyyy/mm/d h:mm");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<Student> readStudents() throws IOException {
+        List<Student> students = new ArrayList<>();
+        StudentSheetReader.read(EXCEL_FILE.toFile(), students::add);
+        return students;
+    }
+
+    private Map<String, ZipArchiveEntry> entries() throws IOException {
+        Map<String, ZipArchiveEntry> entries = new HashMap<>();
+        try (ZipFile zipFile = new ZipFile(EXCEL_FILE.toFile())) {
+            for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
+                entries.put(entry.getName(), entry);
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,141 @@
+package excel.poi;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+
+/**
+ * 워크북을 파일로 쓴다.
+ * <br>
+ * 같은 디렉토리의 임시 파일에 FileChannel로 쓰고 force 한 뒤 대상 파일로 move 하므로, 쓰는 도중에 실패해도 대상 파일이 깨지지 않는다.
+ * POI는 압축 레벨을 바꿀 수 없어서, 압축 레벨을 지정하면 POI가 쓰는 zip을 파이프로 받아 지정한 레벨로 다시 압축하며 쓴다.
+ */
+public class WorkbookFileWriter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int deflateLevel;
+
+    private WorkbookFileWriter(int deflateLevel) {
+        this.deflateLevel = deflateLevel;
+    }
+
+    /**
+     * POI가 만든 zip을 그대로 쓴다.
+     */
+    public static WorkbookFileWriter create() {
+        return new WorkbookFileWriter(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param deflateLevel {@link Deflater#BEST_SPEED}(1) ~ {@link Deflater#BEST_COMPRESSION}(9)
+     */
+    public static WorkbookFileWriter withDeflateLevel(int deflateLevel) {
+        if (deflateLevel < Deflater.NO_COMPRESSION || deflateLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("압축 레벨은 0~9 사이여야 합니다. : " + deflateLevel);
+        }
+        return new WorkbookFileWriter(deflateLevel);
+    }
+
+    public Path write(Workbook workbook, Path target) throws IOException {
+        return write(target, workbook::write);
+    }
+
+    /**
+     * ExcelTestDataLoader::export 처럼 OutputStream에 xlsx를 쓰는 작업을 받는다.
+     */
+    public Path write(Path target, ContentWriter contentWriter) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+                if (deflateLevel == Deflater.DEFAULT_COMPRESSION) {
+                    contentWriter.writeTo(outputStream);
+                } else {
+                    writeRecompressed(contentWriter, outputStream);
+                }
+                outputStream.flush();
+                channel.force(true);
+            }
+            move(temp, target);
+            return target;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void writeRecompressed(ContentWriter contentWriter, OutputStream outputStream) throws IOException {
+        PipedInputStream pipedInputStream = new PipedInputStream(BUFFER_SIZE);
+        PipedOutputStream pipedOutputStream = new PipedOutputStream(pipedInputStream);
+        AtomicReference<Throwable> writeFailure = new AtomicReference<>();
+        Thread writerThread = new Thread(() -> {
+            try (OutputStream pipe = pipedOutputStream) {
+                contentWriter.writeTo(pipe);
+            } catch (Throwable e) {
+                writeFailure.set(e);
+            }
+        }, "workbook-writer");
+        writerThread.start();
+
+        try (InputStream pipe = pipedInputStream) {
+            ZipArchiveInputStream zipInputStream = new ZipArchiveInputStream(pipe);
+            ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(outputStream);
+            zipOutputStream.setLevel(deflateLevel);
+            ZipArchiveEntry entry;
+            while ((entry = zipInputStream.getNextZipEntry()) != null) {
+                zipOutputStream.putArchiveEntry(new ZipArchiveEntry(entry.getName()));
+                zipInputStream.transferTo(zipOutputStream);
+                zipOutputStream.closeArchiveEntry();
+            }
+            zipOutputStream.finish();
+            // central directory까지 읽어줘야 쓰는 스레드가 파이프에서 막히지 않는다.
+            pipe.transferTo(OutputStream.nullOutputStream());
+        } finally {
+            join(writerThread);
+        }
+
+        if (writeFailure.get() != null) {
+            throw new IOException("워크북 쓰기에 실패했습니다.", writeFailure.get());
+        }
+    }
+
+    private void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void join(Thread thread) throws IOException {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("워크북 쓰기를 기다리다 인터럽트 되었습니다.", e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+}
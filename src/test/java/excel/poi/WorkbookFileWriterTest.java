@@ -0,0 +1,85 @@
+package excel.poi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+public class WorkbookFileWriterTest {
+    private static final Path EXCEL_FILE = Path.of("src/test/resources/writer.xlsx");
+
+    @AfterEach
+    void cleanUpFile() throws IOException {
+        Files.deleteIfExists(EXCEL_FILE);
+    }
+
+    @DisplayName("워크북을 파일로 쓴다.")
+    @Test
+    void writeTest() throws IOException {
+        //given
+        ExcelTestDataLoader loader = ExcelTestDataLoader.getInstance();
+
+        //when
+        try (Workbook workbook = loader.initialize()) {
+            WorkbookFileWriter.create().write(workbook, EXCEL_FILE);
+        }
+
+        //then
+        assertThat(readStudents(EXCEL_FILE.toFile())).isEqualTo(loader.getTestStudents());
+    }
+
+    @DisplayName("압축 레벨을 지정하면 다시 압축한 zip도 엑셀에서 읽을 수 있다.")
+    @Test
+    void writeWithDeflateLevelTest() throws IOException {
+        //given
+        ExcelTestDataLoader loader = ExcelTestDataLoader.getInstance();
+
+        //when
+        WorkbookFileWriter.withDeflateLevel(Deflater.BEST_SPEED).write(EXCEL_FILE, loader::export);
+
+        //then
+        assertThat(readStudents(EXCEL_FILE.toFile())).isEqualTo(loader.getTestStudents());
+        try (Workbook workbook = new XSSFWorkbook(EXCEL_FILE.toFile())) {
+            assertThat(workbook.getSheetAt(0).getRow(1).getCell(4).getCellStyle().getDataFormatString())
+                .isEqualTo("yyyy/mm/d h:mm");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DisplayName("쓰다가 실패하면 기존 파일은 그대로 남는다.")
+    @Test
+    void failedWriteKeepsTargetTest() throws IOException {
+        //given
+        WorkbookFileWriter.create().write(EXCEL_FILE, ExcelTestDataLoader.getInstance()::export);
+        byte[] before = Files.readAllBytes(EXCEL_FILE);
+
+        //when, then
+        assertThatThrownBy(() -> WorkbookFileWriter.create().write(EXCEL_FILE, outputStream -> {
+            outputStream.write(1);
+            throw new IOException("fail");
+        })).isInstanceOf(IOException.class);
+        assertThat(Files.readAllBytes(EXCEL_FILE)).isEqualTo(before);
+        try (var files = Files.list(EXCEL_FILE.getParent())) {
+            assertThat(files.filter(file -> file.toString().endsWith(".tmp"))).isEmpty();
+        }
+    }
+
+    private List<Student> readStudents(File file) throws IOException {
+        List<Student> students = new ArrayList<>();
+        StudentSheetReader.read(file, students::add);
+        return students;
+    }
+}
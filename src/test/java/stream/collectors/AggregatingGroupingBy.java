@@ -0,0 +1,275 @@
+package stream.collectors;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * 그룹별로 개수, 합계, 최소, 최대, 평균, 서로 다른 값의 개수 중 필요한 것을 골라 스트림을 한 번만 돌며 구한다.
+ * <br>
+ * Collectors로 최대와 최소를 함께 구하려면 groupingBy를 두 번 돌리거나 downstream을 teeing으로 엮어야 한다.
+ * 여기서는 개수, 합계, 최소, 최대를 GroupedLongStats의 slot 배열에 쌓고, 고른 집계만 Summary로 꺼낸다.
+ * 서로 다른 값의 개수(DISTINCT_COUNT)는 고른 경우에만 같은 slot 번호로 그룹마다 long 해시 집합을 둔다.
+ * <br>
+ * 병렬 스트림에서는 작업마다 컨테이너를 만들고 combiner가 slot별로 합치므로 parallelStream에서도 결과가 같다.
+ * 결과는 처음 나온 순서(enum이면 ordinal 순서)의 LinkedHashMap이고, key마다 Summary 하나만 만든다.
+ */
+public class AggregatingGroupingBy {
+    private AggregatingGroupingBy() {
+    }
+
+    public enum Aggregate {
+        COUNT, SUM, MIN, MAX, AVERAGE, DISTINCT_COUNT
+    }
+
+    public static <T, K> Collector<T, ?, Map<K, Summary>> aggregating(
+            Function<? super T, ? extends K> classifier, ToLongFunction<? super T> mapper, Set<Aggregate> aggregates) {
+        return aggregating(GroupIndex.hashed(), classifier, mapper, aggregates);
+    }
+
+    public static <T, E extends Enum<E>> Collector<T, ?, Map<E, Summary>> aggregating(
+            Class<E> enumType, Function<? super T, ? extends E> classifier, ToLongFunction<? super T> mapper,
+            Set<Aggregate> aggregates) {
+        return aggregating(GroupIndex.ofEnum(enumType), classifier, mapper, aggregates);
+    }
+
+    private static <T, K> Collector<T, ?, Map<K, Summary>> aggregating(
+            GroupIndex<K> index, Function<? super T, ? extends K> classifier, ToLongFunction<? super T> mapper,
+            Set<Aggregate> aggregates) {
+        Objects.requireNonNull(classifier);
+        Objects.requireNonNull(mapper);
+        if (aggregates.isEmpty()) {
+            throw new IllegalArgumentException("집계를 하나 이상 골라야 합니다.");
+        }
+        Set<Aggregate> selected = Collections.unmodifiableSet(EnumSet.copyOf(aggregates));
+        return Collector.of(
+                () -> new Accumulator<K>(index.newEmpty(), selected),
+                (accumulator, t) -> accumulator.accept(classifier.apply(t), mapper.applyAsLong(t)),
+                Accumulator::combine,
+                Accumulator::toMap);
+    }
+
+    /**
+     * 고른 집계만 담는다. 고르지 않은 값을 꺼내면 IllegalStateException을 던진다.
+     */
+    public static final class Summary {
+        private final Set<Aggregate> aggregates;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+        private final long distinctCount;
+
+        private Summary(Set<Aggregate> aggregates, long count, long sum, long min, long max, long distinctCount) {
+            this.aggregates = aggregates;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+            this.distinctCount = distinctCount;
+        }
+
+        public long getCount() {
+            check(Aggregate.COUNT);
+            return count;
+        }
+
+        public long getSum() {
+            check(Aggregate.SUM);
+            return sum;
+        }
+
+        public long getMin() {
+            check(Aggregate.MIN);
+            return min;
+        }
+
+        public long getMax() {
+            check(Aggregate.MAX);
+            return max;
+        }
+
+        public double getAverage() {
+            check(Aggregate.AVERAGE);
+            return (double) sum / count;
+        }
+
+        public long getDistinctCount() {
+            check(Aggregate.DISTINCT_COUNT);
+            return distinctCount;
+        }
+
+        private void check(Aggregate aggregate) {
+            if (!aggregates.contains(aggregate)) {
+                throw new IllegalStateException(aggregate + "는 집계하지 않았습니다. 집계한 값 : " + aggregates);
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder("Summary{");
+            for (Aggregate aggregate : aggregates) {
+                if (builder.length() > "Summary{".length()) {
+                    builder.append(", ");
+                }
+                builder.append(aggregate).append('=').append(valueOf(aggregate));
+            }
+            return builder.append('}').toString();
+        }
+
+        private Object valueOf(Aggregate aggregate) {
+            switch (aggregate) {
+                case COUNT:
+                    return count;
+                case SUM:
+                    return sum;
+                case MIN:
+                    return min;
+                case MAX:
+                    return max;
+                case AVERAGE:
+                    return getAverage();
+                default:
+                    return distinctCount;
+            }
+        }
+    }
+
+    /**
+     * 개수, 합계, 최소, 최대는 GroupedLongStats에 맡기고, 여기서는 DISTINCT_COUNT를 골랐을 때의 값 집합만 slot별로 둔다.
+     */
+    private static final class Accumulator<K> {
+        private static final int INITIAL_SLOT_SIZE = 8;
+
+        private final GroupedLongStats<K> stats;
+        private final Set<Aggregate> aggregates;
+        private LongHashSet[] distinctValues;
+
+        private Accumulator(GroupIndex<K> index, Set<Aggregate> aggregates) {
+            this.stats = new GroupedLongStats<>(index);
+            this.aggregates = aggregates;
+            if (aggregates.contains(Aggregate.DISTINCT_COUNT)) {
+                this.distinctValues = new LongHashSet[Math.max(index.slotSize(), INITIAL_SLOT_SIZE)];
+            }
+        }
+
+        private void accept(K key, long value) {
+            int slot = stats.slotOf(key);
+            stats.accept(slot, value);
+            if (distinctValues != null) {
+                distinctValues(slot).add(value);
+            }
+        }
+
+        private Accumulator<K> combine(Accumulator<K> other) {
+            stats.combine(other.stats);
+            if (distinctValues == null) {
+                return this;
+            }
+            for (int otherSlot = 0; otherSlot < other.stats.slotSize(); otherSlot++) {
+                if (other.stats.countAt(otherSlot) > 0) {
+                    int slot = stats.slotOf(other.stats.keyAt(otherSlot));
+                    distinctValues(slot).addAll(other.distinctValues[otherSlot]);
+                }
+            }
+            return this;
+        }
+
+        private Map<K, Summary> toMap() {
+            Map<K, Summary> summaries = new LinkedHashMap<>();
+            for (int slot = 0; slot < stats.slotSize(); slot++) {
+                if (stats.countAt(slot) == 0) {
+                    continue;
+                }
+                summaries.put(stats.keyAt(slot), new Summary(aggregates, stats.countAt(slot), stats.sumAt(slot),
+                        stats.minAt(slot), stats.maxAt(slot), distinctValues == null ? 0 : distinctValues[slot].size()));
+            }
+            return summaries;
+        }
+
+        private LongHashSet distinctValues(int slot) {
+            if (slot >= distinctValues.length) {
+                distinctValues = Arrays.copyOf(distinctValues, Math.max(slot + 1, distinctValues.length << 1));
+            }
+            if (distinctValues[slot] == null) {
+                distinctValues[slot] = new LongHashSet();
+            }
+            return distinctValues[slot];
+        }
+    }
+
+    /**
+     * 박싱 없이 long 값을 담는 open addressing 집합. 0은 빈 칸 표시로 쓰므로 따로 기억한다.
+     */
+    private static final class LongHashSet {
+        private long[] table = new long[8];
+        private boolean containsZero;
+        private int size;
+
+        private void add(long value) {
+            if (value == 0) {
+                if (!containsZero) {
+                    containsZero = true;
+                    size++;
+                }
+                return;
+            }
+            int mask = table.length - 1;
+            for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+                if (table[i] == value) {
+                    return;
+                }
+                if (table[i] == 0) {
+                    table[i] = value;
+                    if (++size << 1 > table.length) {
+                        resize();
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void addAll(LongHashSet other) {
+            if (other.containsZero) {
+                add(0);
+            }
+            for (long value : other.table) {
+                if (value != 0) {
+                    add(value);
+                }
+            }
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void resize() {
+            long[] oldTable = table;
+            table = new long[oldTable.length << 1];
+            int mask = table.length - 1;
+            for (long value : oldTable) {
+                if (value == 0) {
+                    continue;
+                }
+                int i = hash(value) & mask;
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = value;
+            }
+        }
+
+        private static int hash(long value) {
+            long h = value * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package stream.collectors;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * ToListCollector는 ArrayList에 모으고 combiner에서 list1.addAll(list2)로 합치므로, 병렬 스트림에서는 fork-join 단계마다 부분 리스트를 다시 복사한다.
+ * 이 collector는 배열 조각(Chunk)을 연결해서 모으므로 합칠 때 복사하지 않는다.
+ * <ul>
+ *     <li>ordered(): 작업마다 조각 목록(Chunks)을 만들고, combiner는 왼쪽 목록의 끝에 오른쪽 목록을 이어 붙인다. O(1)이고 순서가 유지된다.</li>
+ *     <li>concurrent(): CONCURRENT, UNORDERED. 컨테이너 하나를 모든 스레드가 함께 쓰고, 스레드마다 자기 조각에만 쓴다.
+ *     조각이 새로 생길 때만 CAS로 공용 목록 앞에 끼우므로 스레드끼리 다투는 일이 드물다. 순서는 보장하지 않는다.</li>
+ * </ul>
+ * 조각은 16칸(또는 expectedSize)에서 시작해서 MAX_CHUNK_SIZE까지 두 배씩 커진다. 모으는 동안에는 조각을 복사하지 않는다.
+ * <br>
+ * 결과 리스트는 Result로 고른다.
+ * <ul>
+ *     <li>ARRAY: 크기에 딱 맞는 배열 하나에 조각별로 System.arraycopy 해서 한 번만 복사한다. 크기를 바꿀 수 없는 리스트(Arrays.asList)다.</li>
+ *     <li>VIEW: 복사하지 않고 조각들을 그대로 보여주는 읽기 전용 리스트. get(i)은 조각 시작 위치를 이진 탐색한다.
+ *     마지막 조각들의 빈 칸만큼 메모리를 더 붙잡고 있다.</li>
+ * </ul>
+ */
+public class ChunkedToListCollector {
+    static final int MIN_CHUNK_SIZE = 16;
+    static final int MAX_CHUNK_SIZE = 1 << 14;
+
+    private ChunkedToListCollector() {
+    }
+
+    public enum Result {
+        ARRAY, VIEW
+    }
+
+    public static <T> Collector<T, ?, List<T>> ordered() {
+        return ordered(MIN_CHUNK_SIZE, Result.ARRAY);
+    }
+
+    /**
+     * 크기를 아는 스트림이면 expectedSize를 넘겨서 첫 조각을 그 크기로 만든다. MAX_CHUNK_SIZE 이하면 조각 하나로 끝나 늘리는 단계가 없다.
+     * 병렬 스트림에서는 작업마다 이 크기로 시작하므로 MAX_CHUNK_SIZE를 넘지 않게 자른다.
+     */
+    public static <T> Collector<T, ?, List<T>> ordered(int expectedSize, Result result) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize는 0 이상이어야 합니다. : " + expectedSize);
+        }
+        return new Ordered<>(Math.max(1, Math.min(expectedSize, MAX_CHUNK_SIZE)), Objects.requireNonNull(result));
+    }
+
+    public static <T> Collector<T, ?, List<T>> concurrent() {
+        return concurrent(Result.ARRAY);
+    }
+
+    public static <T> Collector<T, ?, List<T>> concurrent(Result result) {
+        return new Concurrent<>(Objects.requireNonNull(result));
+    }
+
+    static final class Chunk<T> {
+        final Object[] items;
+        int size;
+        Chunk<T> next;
+
+        Chunk(int capacity) {
+            this.items = new Object[capacity];
+        }
+
+        boolean isFull() {
+            return size == items.length;
+        }
+
+        static int nextCapacity(Chunk<?> previous, int firstCapacity) {
+            return previous == null ? firstCapacity : Math.max(previous.items.length, Math.min(previous.items.length << 1, MAX_CHUNK_SIZE));
+        }
+    }
+
+    /**
+     * 한 스레드만 쓰는 조각 목록. head부터 next를 따라가면 넣은 순서다.
+     */
+    static final class Chunks<T> {
+        private final int firstCapacity;
+        Chunk<T> head;
+        Chunk<T> tail;
+        long size;
+
+        Chunks(int firstCapacity) {
+            this.firstCapacity = firstCapacity;
+        }
+
+        void add(T item) {
+            if (tail == null || tail.isFull()) {
+                Chunk<T> chunk = new Chunk<>(Chunk.nextCapacity(tail, firstCapacity));
+                if (tail == null) {
+                    head = chunk;
+                } else {
+                    tail.next = chunk;
+                }
+                tail = chunk;
+            }
+            tail.items[tail.size++] = item;
+            size++;
+        }
+
+        /**
+         * other의 조각을 복사하지 않고 뒤에 잇는다. 이어 붙인 뒤에 other를 다시 쓰면 안 된다.
+         */
+        Chunks<T> append(Chunks<T> other) {
+            if (other.head == null) {
+                return this;
+            }
+            if (head == null) {
+                return other;
+            }
+            tail.next = other.head;
+            tail = other.tail;
+            size += other.size;
+            return this;
+        }
+    }
+
+    /**
+     * 조각 앞에 끼울 때만 CAS를 쓰고, 조각 안에는 그 조각을 만든 스레드만 쓴다.
+     * finisher는 스트림이 모든 작업을 join한 뒤에 부르므로, 다른 스레드가 쓴 items와 size가 보인다.
+     * <br>
+     * 스레드별 조각은 ThreadLocal이 아니라 컨테이너의 map에 둔다. ThreadLocal 값은 스레드의 ThreadLocalMap에 남아서,
+     * collect가 끝난 뒤에도 ForkJoin 워커와 호출한 스레드마다 마지막 조각과 그 항목을 붙잡는다.
+     * map은 컨테이너와 함께 버려지고, 스레드마다 조각이 찰 때만 put 한다.
+     */
+    static final class ConcurrentChunks<T> {
+        private final AtomicReference<Chunk<T>> head = new AtomicReference<>();
+        private final Map<Thread, Chunk<T>> current = new ConcurrentHashMap<>();
+
+        void add(T item) {
+            Thread thread = Thread.currentThread();
+            Chunk<T> chunk = current.get(thread);
+            if (chunk == null || chunk.isFull()) {
+                chunk = new Chunk<>(Chunk.nextCapacity(chunk, MIN_CHUNK_SIZE));
+                current.put(thread, chunk);
+                Chunk<T> first;
+                do {
+                    first = head.get();
+                    chunk.next = first;
+                } while (!head.compareAndSet(first, chunk));
+            }
+            chunk.items[chunk.size++] = item;
+        }
+
+        Chunk<T> head() {
+            return head.get();
+        }
+    }
+
+    static <T> List<T> toList(Chunk<T> head, Result result) {
+        long size = 0;
+        int chunkSize = 0;
+        for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+            size += chunk.size;
+            chunkSize++;
+        }
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("리스트에 담을 수 없는 크기입니다. : " + size);
+        }
+        return result == Result.ARRAY ? toArray(head, (int) size) : new ChunkedListView<>(head, chunkSize, (int) size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> toArray(Chunk<T> head, int size) {
+        Object[] array = new Object[size];
+        int position = 0;
+        for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+            System.arraycopy(chunk.items, 0, array, position, chunk.size);
+            position += chunk.size;
+        }
+        return Arrays.asList((T[]) array);
+    }
+
+    /**
+     * 조각은 한 칸 이상 채워진 뒤에만 목록에 들어가므로 starts는 순서대로 커지고, 이진 탐색으로 index가 속한 조각을 찾는다.
+     */
+    private static final class ChunkedListView<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[][] chunks;
+        private final int[] starts;
+        private final int size;
+
+        private ChunkedListView(Chunk<T> head, int chunkSize, int size) {
+            this.chunks = new Object[chunkSize][];
+            this.starts = new int[chunkSize];
+            this.size = size;
+            int c = 0;
+            int start = 0;
+            for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+                chunks[c] = chunk.items;
+                starts[c++] = start;
+                start += chunk.size;
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            Objects.checkIndex(index, size);
+            int c = Arrays.binarySearch(starts, index);
+            if (c < 0) {
+                c = -c - 2;
+            }
+            return (T) chunks[c][index - starts[c]];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static class Ordered<T> implements Collector<T, Chunks<T>, List<T>> {
+        private final int firstCapacity;
+        private final Result result;
+
+        private Ordered(int firstCapacity, Result result) {
+            this.firstCapacity = firstCapacity;
+            this.result = result;
+        }
+
+        @Override
+        public Supplier<Chunks<T>> supplier() {
+            return () -> new Chunks<>(firstCapacity);
+        }
+
+        @Override
+        public BiConsumer<Chunks<T>, T> accumulator() {
+            return Chunks::add;
+        }
+
+        @Override
+        public BinaryOperator<Chunks<T>> combiner() {
+            return Chunks::append;
+        }
+
+        @Override
+        public Function<Chunks<T>, List<T>> finisher() {
+            return chunks -> toList(chunks.head, result);
+        }
+
+        @Override
+        public Set<Characteristics> characteristics() {
+            return Collections.emptySet();
+        }
+    }
+
+    private static class Concurrent<T> implements Collector<T, ConcurrentChunks<T>, List<T>> {
+        private final Result result;
+
+        private Concurrent(Result result) {
+            this.result = result;
+        }
+
+        @Override
+        public Supplier<ConcurrentChunks<T>> supplier() {
+            return ConcurrentChunks::new;
+        }
+
+        @Override
+        public BiConsumer<ConcurrentChunks<T>, T> accumulator() {
+            return ConcurrentChunks::add;
+        }
+
+        /**
+         * CONCURRENT이고 UNORDERED이므로 병렬 스트림은 컨테이너 하나만 만들고 combiner를 부르지 않는다.
+         * 직접 collector를 써서 불리는 경우를 위해, 항목은 복사하지 않고 오른쪽 조각들만 왼쪽 목록 앞에 옮긴다.
+         */
+        @Override
+        public BinaryOperator<ConcurrentChunks<T>> combiner() {
+            return (left, right) -> {
+                Chunk<T> chunk = right.head();
+                while (chunk != null) {
+                    Chunk<T> next = chunk.next;
+                    Chunk<T> first;
+                    do {
+                        first = left.head.get();
+                        chunk.next = first;
+                    } while (!left.head.compareAndSet(first, chunk));
+                    chunk = next;
+                }
+                return left;
+            };
+        }
+
+        @Override
+        public Function<ConcurrentChunks<T>, List<T>> finisher() {
+            return chunks -> toList(chunks.head(), result);
+        }
+
+        @Override
+        public Set<Characteristics> characteristics() {
+            return Collections.unmodifiableSet(EnumSet.of(Characteristics.CONCURRENT, Characteristics.UNORDERED));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package stream.collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ChunkedToListCollectorTest {
+    private static final int SIZE = 100_000;
+
+    @DisplayName("ordered는 병렬 스트림에서도 조각을 이어 붙여 순서대로 모은다.")
+    @Test
+    void orderedTest() {
+        //given
+        List<Integer> expected = IntStream.range(0, SIZE).boxed().collect(Collectors.toList());
+
+        //when
+        List<Integer> sequential = IntStream.range(0, SIZE).boxed().collect(ChunkedToListCollector.ordered());
+        List<Integer> parallel = IntStream.range(0, SIZE).boxed().parallel().collect(ChunkedToListCollector.ordered());
+        List<Integer> empty = IntStream.range(0, 0).boxed().parallel().collect(ChunkedToListCollector.ordered());
+
+        //then
+        assertThat(sequential).isEqualTo(expected);
+        assertThat(parallel).isEqualTo(expected);
+        assertThat(empty).isEmpty();
+    }
+
+    @DisplayName("concurrent는 컨테이너 하나에 스레드마다 따로 모으고, 순서 없이 모든 항목을 담는다.")
+    @Test
+    void concurrentTest() {
+        //given
+        Collector<Integer, ?, List<Integer>> collector = ChunkedToListCollector.concurrent();
+
+        //when
+        List<Integer> collected = IntStream.range(0, SIZE).boxed().parallel().collect(collector);
+
+        //then
+        assertThat(collector.characteristics())
+                .containsExactlyInAnyOrder(Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED);
+        assertThat(collected).hasSize(SIZE);
+        assertThat(collected.stream().sorted().collect(Collectors.toList()))
+                .isEqualTo(IntStream.range(0, SIZE).boxed().collect(Collectors.toList()));
+    }
+
+    @DisplayName("concurrent로 모은 결과를 버리면, collect에 참여한 스레드에 조각이 남지 않아 항목도 GC된다.")
+    @Test
+    void concurrentRetentionTest() throws InterruptedException {
+        //given
+        ReferenceQueue<Object> queue = new ReferenceQueue<>();
+        List<WeakReference<Object>> references = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 5; i++) {
+            collectAndDrop(2_000, queue, references);
+        }
+
+        //then
+        int collected = 0;
+        for (int i = 0; i < 50 && collected < references.size(); i++) {
+            System.gc();
+            while (queue.remove(100) != null) {
+                collected++;
+            }
+        }
+        assertThat(collected).isEqualTo(references.size());
+    }
+
+    /**
+     * 항목과 결과 리스트의 강한 참조가 이 메서드 밖으로 나가지 않게 한다.
+     */
+    private void collectAndDrop(int size, ReferenceQueue<Object> queue, List<WeakReference<Object>> references) {
+        List<Object> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Object item = new byte[1024];
+            items.add(item);
+            references.add(new WeakReference<>(item, queue));
+        }
+        List<Object> collected = items.parallelStream().collect(ChunkedToListCollector.concurrent());
+        assertThat(collected).hasSize(size);
+    }
+
+    @DisplayName("ARRAY는 크기에 맞는 배열 하나로 복사하고, VIEW는 복사 없이 조각을 읽기 전용으로 보여준다.")
+    @Test
+    void resultTest() {
+        //given
+        List<Integer> expected = IntStream.range(0, SIZE).boxed().collect(Collectors.toList());
+
+        //when
+        List<Integer> array = IntStream.range(0, SIZE).boxed().parallel()
+                .collect(ChunkedToListCollector.ordered(SIZE, ChunkedToListCollector.Result.ARRAY));
+        List<Integer> view = IntStream.range(0, SIZE).boxed().parallel()
+                .collect(ChunkedToListCollector.ordered(SIZE, ChunkedToListCollector.Result.VIEW));
+        List<Integer> small = IntStream.range(0, 10).boxed()
+                .collect(ChunkedToListCollector.ordered(10, ChunkedToListCollector.Result.VIEW));
+
+        //then
+        assertThat(array).isEqualTo(expected);
+        assertThat(view).isEqualTo(expected);
+        assertThat(view.get(SIZE - 1)).isEqualTo(SIZE - 1);
+        assertThat(small).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThatThrownBy(() -> view.add(SIZE)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> array.add(SIZE)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> view.get(SIZE)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
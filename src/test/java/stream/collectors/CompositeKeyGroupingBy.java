@@ -0,0 +1,256 @@
+package stream.collectors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 칼럼을 합친 key로 그룹핑하되, 요소마다 key 객체를 만들지 않는 collector
+ * <br>
+ * groupingBy(post -> new Tuple(post.getType(), post.getAuthor()))는 이미 있는 그룹을 찾을 때도 요소마다 Tuple을 만들고,
+ * Tuple.hashCode()의 Objects.hash는 가변 인자 배열을 하나 더 만든다.
+ * 여기서는 추출한 칼럼 값을 컨테이너가 가진 scratch 배열에 담아 Objects.hash와 같은 식(31 * h + hashCode)으로 바로 해시하고,
+ * 테이블에 펼쳐 둔 칼럼 값과 하나씩 equals로 비교한다. key 객체는 새 그룹이 생길 때만 keyFactory로 한 번 만든다.
+ * <br>
+ * 칼럼 값에는 null이 들어가도 된다. (Tuple의 equals, hashCode와 같다)
+ * 결과는 처음 나온 순서의 LinkedHashMap이고, 병렬 스트림에서는 combiner가 칼럼 값으로 그룹을 찾아 downstream 컨테이너를 합친다.
+ * 왼쪽에 없는 그룹이면 오른쪽의 key와 컨테이너를 그대로 가져온다.
+ */
+public class CompositeKeyGroupingBy {
+    private CompositeKeyGroupingBy() {
+    }
+
+    public static <T, A, B, K> Collector<T, ?, Map<K, List<T>>> groupingBy(
+            Function<? super T, ? extends A> first, Function<? super T, ? extends B> second,
+            BiFunction<? super A, ? super B, ? extends K> keyFactory) {
+        return groupingBy(first, second, keyFactory, Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, A, B, K, D> Collector<T, ?, Map<K, D>> groupingBy(
+            Function<? super T, ? extends A> first, Function<? super T, ? extends B> second,
+            BiFunction<? super A, ? super B, ? extends K> keyFactory, Collector<? super T, ?, D> downstream) {
+        Objects.requireNonNull(keyFactory);
+        return groupingBy(Arrays.asList(first, second),
+                (components, offset) -> keyFactory.apply((A) components[offset], (B) components[offset + 1]),
+                downstream);
+    }
+
+    /**
+     * @return key는 칼럼 값을 순서대로 담은 수정할 수 없는 List
+     */
+    public static <T> Collector<T, ?, Map<List<Object>, List<T>>> groupingBy(
+            List<? extends Function<? super T, ?>> extractors) {
+        return groupingBy(extractors, Collectors.toList());
+    }
+
+    public static <T, D> Collector<T, ?, Map<List<Object>, D>> groupingBy(
+            List<? extends Function<? super T, ?>> extractors, Collector<? super T, ?, D> downstream) {
+        int arity = extractors.size();
+        return groupingBy(extractors,
+                (components, offset) -> Collections.unmodifiableList(
+                        Arrays.asList(Arrays.copyOfRange(components, offset, offset + arity))),
+                downstream);
+    }
+
+    private static <T, K, C, D> Collector<T, ?, Map<K, D>> groupingBy(
+            List<? extends Function<? super T, ?>> extractors, KeyFactory<K> keyFactory,
+            Collector<? super T, C, D> downstream) {
+        if (extractors.isEmpty()) {
+            throw new IllegalArgumentException("key 칼럼을 하나 이상 주어야 합니다.");
+        }
+        List<Function<? super T, ?>> copied = new ArrayList<>(extractors);
+        copied.forEach(Objects::requireNonNull);
+        Function<? super T, ?>[] columns = copied.toArray(newColumns(copied.size()));
+        Supplier<C> supplier = downstream.supplier();
+        BiConsumer<C, ? super T> accumulator = downstream.accumulator();
+        BinaryOperator<C> combiner = downstream.combiner();
+        Function<C, D> finisher = downstream.finisher();
+        return Collector.of(
+                () -> new Groups<T, K, C>(columns, keyFactory, supplier),
+                (groups, t) -> accumulator.accept(groups.containerOf(t), t),
+                (left, right) -> left.combine(right, combiner),
+                groups -> groups.toMap(finisher));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Function<? super T, ?>[] newColumns(int size) {
+        return new Function[size];
+    }
+
+    /**
+     * 칼럼 값 배열의 offset부터 arity개를 읽어 key를 만든다.
+     */
+    @FunctionalInterface
+    private interface KeyFactory<K> {
+        K create(Object[] components, int offset);
+    }
+
+    /**
+     * GroupIndex.Hashed와 같은 open addressing 테이블. 다만 key 객체 대신 slot을 테이블에 두고,
+     * slot별 칼럼 값은 components[slot * arity + i]에 펼쳐 둔다.
+     */
+    private static final class Groups<T, K, C> {
+        private static final int INITIAL_TABLE_SIZE = 16;
+        private static final int EMPTY = -1;
+
+        private final Function<? super T, ?>[] columns;
+        private final KeyFactory<K> keyFactory;
+        private final Supplier<C> supplier;
+        private final int arity;
+        private final Object[] scratch;
+        private int[] tableSlots = newTable(INITIAL_TABLE_SIZE);
+        private int[] tableHashes = new int[INITIAL_TABLE_SIZE];
+        private Object[] components;
+        private Object[] keys = new Object[INITIAL_TABLE_SIZE / 2];
+        private Object[] containers = new Object[INITIAL_TABLE_SIZE / 2];
+        private int size;
+
+        private Groups(Function<? super T, ?>[] columns, KeyFactory<K> keyFactory, Supplier<C> supplier) {
+            this.columns = columns;
+            this.keyFactory = keyFactory;
+            this.supplier = supplier;
+            this.arity = columns.length;
+            this.scratch = new Object[arity];
+            this.components = new Object[keys.length * arity];
+        }
+
+        @SuppressWarnings("unchecked")
+        private C containerOf(T t) {
+            int hash = 1;
+            for (int i = 0; i < arity; i++) {
+                Object component = columns[i].apply(t);
+                scratch[i] = component;
+                hash = 31 * hash + Objects.hashCode(component);
+            }
+            int found = find(scratch, 0, hash);
+            int slot = found >= 0 ? found : insert(-found - 1, scratch, 0, hash);
+            if (found < 0) {
+                keys[slot] = keyFactory.create(components, slot * arity);
+                containers[slot] = supplier.get();
+            }
+            Arrays.fill(scratch, null);
+            return (C) containers[slot];
+        }
+
+        @SuppressWarnings("unchecked")
+        private Groups<T, K, C> combine(Groups<T, K, C> other, BinaryOperator<C> combiner) {
+            for (int otherSlot = 0; otherSlot < other.size; otherSlot++) {
+                int offset = otherSlot * arity;
+                int hash = hashOf(other.components, offset);
+                int found = find(other.components, offset, hash);
+                if (found >= 0) {
+                    containers[found] = combiner.apply((C) containers[found], (C) other.containers[otherSlot]);
+                } else {
+                    int slot = insert(-found - 1, other.components, offset, hash);
+                    keys[slot] = other.keys[otherSlot];
+                    containers[slot] = other.containers[otherSlot];
+                }
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <D> Map<K, D> toMap(Function<C, D> finisher) {
+            Map<K, D> map = new LinkedHashMap<>();
+            for (int slot = 0; slot < size; slot++) {
+                map.put((K) keys[slot], finisher.apply((C) containers[slot]));
+            }
+            return map;
+        }
+
+        /**
+         * @return values[offset..offset + arity)와 같은 그룹의 slot. 없으면 넣을 테이블 위치 i를 -(i + 1)로 돌려준다.
+         */
+        private int find(Object[] values, int offset, int hash) {
+            int spread = spread(hash);
+            int mask = tableSlots.length - 1;
+            for (int i = spread & mask; ; i = (i + 1) & mask) {
+                int slot = tableSlots[i];
+                if (slot == EMPTY) {
+                    return -i - 1;
+                }
+                if (tableHashes[i] == hash && matches(slot, values, offset)) {
+                    return slot;
+                }
+            }
+        }
+
+        private boolean matches(int slot, Object[] values, int offset) {
+            int base = slot * arity;
+            for (int i = 0; i < arity; i++) {
+                if (!Objects.equals(components[base + i], values[offset + i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * values[offset..offset + arity)를 복사해 새 slot을 잡는다. key와 컨테이너는 부른 쪽이 채운다.
+         */
+        private int insert(int tableIndex, Object[] values, int offset, int hash) {
+            int slot = size++;
+            if (slot == keys.length) {
+                keys = Arrays.copyOf(keys, keys.length << 1);
+                containers = Arrays.copyOf(containers, containers.length << 1);
+                components = Arrays.copyOf(components, keys.length * arity);
+            }
+            System.arraycopy(values, offset, components, slot * arity, arity);
+            tableSlots[tableIndex] = slot;
+            tableHashes[tableIndex] = hash;
+            if (size << 1 > tableSlots.length) {
+                resize();
+            }
+            return slot;
+        }
+
+        private void resize() {
+            int[] oldSlots = tableSlots;
+            int[] oldHashes = tableHashes;
+            tableSlots = newTable(oldSlots.length << 1);
+            tableHashes = new int[oldSlots.length << 1];
+            int mask = tableSlots.length - 1;
+            for (int j = 0; j < oldSlots.length; j++) {
+                if (oldSlots[j] == EMPTY) {
+                    continue;
+                }
+                int i = spread(oldHashes[j]) & mask;
+                while (tableSlots[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                tableSlots[i] = oldSlots[j];
+                tableHashes[i] = oldHashes[j];
+            }
+        }
+
+        private int hashOf(Object[] values, int offset) {
+            int hash = 1;
+            for (int i = 0; i < arity; i++) {
+                hash = 31 * hash + Objects.hashCode(values[offset + i]);
+            }
+            return hash;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private static int[] newTable(int size) {
+            int[] table = new int[size];
+            Arrays.fill(table, EMPTY);
+            return table;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package stream.collectors;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 그룹 key를 0부터 시작하는 slot 번호로 바꾼다. 그룹별 값은 slot 번호를 index로 쓰는 원시 타입 배열에 담는다.
+ * <ul>
+ *     <li>hashed(): open addressing(선형 탐사) 해시 테이블. 새 key는 처음 나온 순서대로 slot을 받는다.
+ *     HashMap처럼 key마다 Node를 만들지 않고, key와 hash, slot을 배열에 나란히 둔다.</li>
+ *     <li>ofEnum(): enum key는 ordinal이 곧 slot이다. 해시 계산도 탐색도 없다. (EnumMap과 같은 방식)</li>
+ * </ul>
+ * groupingBy와 같이 null key는 허용하지 않는다.
+ */
+public interface GroupIndex<K> {
+    /**
+     * 없는 key면 새 slot을 만든다.
+     */
+    int slotOf(K key);
+
+    /**
+     * @return key의 slot. 한 번도 나오지 않은 key면 -1 (ofEnum은 -1 대신 ordinal을 돌려주고, 값이 비어 있는지는 호출한 쪽에서 본다)
+     */
+    int find(K key);
+
+    /**
+     * @return 지금까지 만든 slot 수. slot 번호는 0 ~ slotSize() - 1
+     */
+    int slotSize();
+
+    K keyAt(int slot);
+
+    /**
+     * 같은 방식의 빈 index. 병렬 스트림에서 작업마다 컨테이너를 만들 때 쓴다.
+     */
+    GroupIndex<K> newEmpty();
+
+    static <K> GroupIndex<K> hashed() {
+        return new Hashed<>();
+    }
+
+    static <E extends Enum<E>> GroupIndex<E> ofEnum(Class<E> enumType) {
+        return new EnumOrdinal<>(enumType.getEnumConstants());
+    }
+
+    static <K> K requireKey(K key) {
+        return Objects.requireNonNull(key, "null key로 그룹핑할 수 없습니다.");
+    }
+
+    /**
+     * 테이블이 절반 넘게 차면 두 배로 늘린다. 삭제가 없으므로 선형 탐사로 충분하다.
+     */
+    final class Hashed<K> implements GroupIndex<K> {
+        private static final int INITIAL_TABLE_SIZE = 16;
+
+        private Object[] tableKeys = new Object[INITIAL_TABLE_SIZE];
+        private int[] tableHashes = new int[INITIAL_TABLE_SIZE];
+        private int[] tableSlots = new int[INITIAL_TABLE_SIZE];
+        private Object[] keys = new Object[INITIAL_TABLE_SIZE / 2];
+        private int size;
+
+        @Override
+        public int slotOf(K key) {
+            int hash = hash(requireKey(key));
+            int mask = tableKeys.length - 1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                Object tableKey = tableKeys[i];
+                if (tableKey == null) {
+                    return insert(i, key, hash);
+                }
+                if (tableHashes[i] == hash && tableKey.equals(key)) {
+                    return tableSlots[i];
+                }
+            }
+        }
+
+        @Override
+        public int find(K key) {
+            int hash = hash(requireKey(key));
+            int mask = tableKeys.length - 1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                Object tableKey = tableKeys[i];
+                if (tableKey == null) {
+                    return -1;
+                }
+                if (tableHashes[i] == hash && tableKey.equals(key)) {
+                    return tableSlots[i];
+                }
+            }
+        }
+
+        @Override
+        public int slotSize() {
+            return size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K keyAt(int slot) {
+            Objects.checkIndex(slot, size);
+            return (K) keys[slot];
+        }
+
+        @Override
+        public GroupIndex<K> newEmpty() {
+            return new Hashed<>();
+        }
+
+        private int insert(int tableIndex, K key, int hash) {
+            int slot = size++;
+            tableKeys[tableIndex] = key;
+            tableHashes[tableIndex] = hash;
+            tableSlots[tableIndex] = slot;
+            if (slot == keys.length) {
+                keys = Arrays.copyOf(keys, keys.length << 1);
+            }
+            keys[slot] = key;
+            if (size << 1 > tableKeys.length) {
+                resize();
+            }
+            return slot;
+        }
+
+        private void resize() {
+            Object[] oldKeys = tableKeys;
+            int[] oldHashes = tableHashes;
+            int[] oldSlots = tableSlots;
+            tableKeys = new Object[oldKeys.length << 1];
+            tableHashes = new int[oldKeys.length << 1];
+            tableSlots = new int[oldKeys.length << 1];
+            int mask = tableKeys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] == null) {
+                    continue;
+                }
+                int i = oldHashes[j] & mask;
+                while (tableKeys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                tableKeys[i] = oldKeys[j];
+                tableHashes[i] = oldHashes[j];
+                tableSlots[i] = oldSlots[j];
+            }
+        }
+
+        /**
+         * HashMap과 같이 상위 비트를 하위 비트에 섞어서, 하위 비트만 쓰는 mask에서도 고르게 퍼지게 한다.
+         */
+        private static int hash(Object key) {
+            int h = key.hashCode();
+            return h ^ (h >>> 16);
+        }
+    }
+
+    final class EnumOrdinal<E extends Enum<E>> implements GroupIndex<E> {
+        private final E[] constants;
+
+        private EnumOrdinal(E[] constants) {
+            this.constants = constants;
+        }
+
+        @Override
+        public int slotOf(E key) {
+            return requireKey(key).ordinal();
+        }
+
+        @Override
+        public int find(E key) {
+            return requireKey(key).ordinal();
+        }
+
+        @Override
+        public int slotSize() {
+            return constants.length;
+        }
+
+        @Override
+        public E keyAt(int slot) {
+            return constants[slot];
+        }
+
+        @Override
+        public GroupIndex<E> newEmpty() {
+            return this;
+        }
+    }
+}
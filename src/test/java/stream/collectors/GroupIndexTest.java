@@ -0,0 +1,46 @@
+package stream.collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stream.collectors.blog.BlogPostType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GroupIndexTest {
+    @DisplayName("hashed는 처음 나온 순서대로 slot을 주고, 테이블이 늘어난 뒤에도 같은 key는 같은 slot을 찾는다.")
+    @Test
+    void hashedTest() {
+        //given
+        GroupIndex<String> index = GroupIndex.hashed();
+
+        //when
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(index.slotOf("key" + i)).isEqualTo(i);
+        }
+
+        //then
+        assertThat(index.slotSize()).isEqualTo(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(index.slotOf("key" + i)).isEqualTo(i);
+            assertThat(index.find("key" + i)).isEqualTo(i);
+            assertThat(index.keyAt(i)).isEqualTo("key" + i);
+        }
+        assertThat(index.find("key1000")).isEqualTo(-1);
+        assertThatThrownBy(() -> index.slotOf(null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @DisplayName("ofEnum은 ordinal을 slot으로 쓴다.")
+    @Test
+    void enumTest() {
+        //given
+        GroupIndex<BlogPostType> index = GroupIndex.ofEnum(BlogPostType.class);
+
+        //when, then
+        assertThat(index.slotSize()).isEqualTo(BlogPostType.values().length);
+        for (BlogPostType type : BlogPostType.values()) {
+            assertThat(index.slotOf(type)).isEqualTo(type.ordinal());
+            assertThat(index.keyAt(type.ordinal())).isEqualTo(type);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package stream.collectors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * GroupedLongStats의 double 버전. 그룹별 개수, 합계, 최소, 최대를 원시 타입 배열에 담는다.
+ * <br>
+ * 나오지 않은 key의 값은 DoubleSummaryStatistics와 같다. (개수 0, 합계 0, 최소 +Infinity, 최대 -Infinity, 평균 0)
+ * 합계는 DoubleSummaryStatistics와 달리 보정(Kahan summation) 없이 더한다.
+ */
+public class GroupedDoubleStats<K> {
+    private static final int INITIAL_SLOT_SIZE = 8;
+
+    private final GroupIndex<K> index;
+    private long[] counts;
+    private double[] sums;
+    private double[] mins;
+    private double[] maxs;
+
+    public GroupedDoubleStats(GroupIndex<K> index) {
+        this.index = index;
+        int slotSize = Math.max(index.slotSize(), INITIAL_SLOT_SIZE);
+        this.counts = new long[slotSize];
+        this.sums = new double[slotSize];
+        this.mins = new double[slotSize];
+        this.maxs = new double[slotSize];
+        Arrays.fill(mins, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+    }
+
+    public void accept(K key, double value) {
+        int slot = index.slotOf(key);
+        if (slot >= counts.length) {
+            grow(slot + 1);
+        }
+        counts[slot]++;
+        sums[slot] += value;
+        mins[slot] = Math.min(mins[slot], value);
+        maxs[slot] = Math.max(maxs[slot], value);
+    }
+
+    public GroupedDoubleStats<K> combine(GroupedDoubleStats<K> other) {
+        for (int otherSlot = 0; otherSlot < other.index.slotSize(); otherSlot++) {
+            if (other.counts[otherSlot] == 0) {
+                continue;
+            }
+            int slot = index.slotOf(other.index.keyAt(otherSlot));
+            if (slot >= counts.length) {
+                grow(slot + 1);
+            }
+            counts[slot] += other.counts[otherSlot];
+            sums[slot] += other.sums[otherSlot];
+            mins[slot] = Math.min(mins[slot], other.mins[otherSlot]);
+            maxs[slot] = Math.max(maxs[slot], other.maxs[otherSlot]);
+        }
+        return this;
+    }
+
+    /**
+     * @return 값이 하나 이상 있는 key. 처음 나온 순서(enum이면 ordinal 순서)
+     */
+    public List<K> keys() {
+        List<K> keys = new ArrayList<>();
+        for (int slot = 0; slot < index.slotSize(); slot++) {
+            if (counts[slot] > 0) {
+                keys.add(index.keyAt(slot));
+            }
+        }
+        return keys;
+    }
+
+    public long getCount(K key) {
+        int slot = slot(key);
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    public double getSum(K key) {
+        int slot = slot(key);
+        return slot < 0 ? 0.0 : sums[slot];
+    }
+
+    public double getMin(K key) {
+        int slot = slot(key);
+        return slot < 0 ? Double.POSITIVE_INFINITY : mins[slot];
+    }
+
+    public double getMax(K key) {
+        int slot = slot(key);
+        return slot < 0 ? Double.NEGATIVE_INFINITY : maxs[slot];
+    }
+
+    public double getAverage(K key) {
+        int slot = slot(key);
+        return slot < 0 ? 0.0 : sums[slot] / counts[slot];
+    }
+
+    private int slot(K key) {
+        int slot = index.find(key);
+        return slot >= 0 && slot < counts.length && counts[slot] > 0 ? slot : -1;
+    }
+
+    private void grow(int minSlotSize) {
+        int slotSize = Math.max(minSlotSize, counts.length << 1);
+        int oldSlotSize = counts.length;
+        counts = Arrays.copyOf(counts, slotSize);
+        sums = Arrays.copyOf(sums, slotSize);
+        mins = Arrays.copyOf(mins, slotSize);
+        maxs = Arrays.copyOf(maxs, slotSize);
+        Arrays.fill(mins, oldSlotSize, slotSize, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxs, oldSlotSize, slotSize, Double.NEGATIVE_INFINITY);
+    }
+}
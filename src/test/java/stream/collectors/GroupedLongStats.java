@@ -0,0 +1,147 @@
+package stream.collectors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 그룹별 개수, 합계, 최소, 최대를 long 배열에 담는다. 그룹마다 LongSummaryStatistics를 만드는 대신 slot 번호로 배열 칸을 찾는다.
+ * <br>
+ * LongSummaryStatistics처럼 accept로 값을 더하고 combine으로 합치며, 모으는 컨테이너가 그대로 결과가 된다.
+ * 나오지 않은 key의 값도 LongSummaryStatistics와 같다. (개수 0, 합계 0, 최소 Long.MAX_VALUE, 최대 Long.MIN_VALUE, 평균 0)
+ */
+public class GroupedLongStats<K> {
+    private static final int INITIAL_SLOT_SIZE = 8;
+
+    private final GroupIndex<K> index;
+    private long[] counts;
+    private long[] sums;
+    private long[] mins;
+    private long[] maxs;
+
+    public GroupedLongStats(GroupIndex<K> index) {
+        this.index = index;
+        int slotSize = Math.max(index.slotSize(), INITIAL_SLOT_SIZE);
+        this.counts = new long[slotSize];
+        this.sums = new long[slotSize];
+        this.mins = new long[slotSize];
+        this.maxs = new long[slotSize];
+        Arrays.fill(mins, Long.MAX_VALUE);
+        Arrays.fill(maxs, Long.MIN_VALUE);
+    }
+
+    public void accept(K key, long value) {
+        accept(slotOf(key), value);
+    }
+
+    /**
+     * key의 slot 번호. 처음 나온 key면 slot을 새로 잡고 배열을 늘린다.
+     * AggregatingGroupingBy처럼 slot별로 다른 값을 함께 쌓는 쪽이 같은 번호를 쓸 수 있도록 패키지 안에 연다.
+     */
+    int slotOf(K key) {
+        int slot = index.slotOf(key);
+        if (slot >= counts.length) {
+            grow(slot + 1);
+        }
+        return slot;
+    }
+
+    void accept(int slot, long value) {
+        counts[slot]++;
+        sums[slot] += value;
+        mins[slot] = Math.min(mins[slot], value);
+        maxs[slot] = Math.max(maxs[slot], value);
+    }
+
+    public GroupedLongStats<K> combine(GroupedLongStats<K> other) {
+        for (int otherSlot = 0; otherSlot < other.index.slotSize(); otherSlot++) {
+            if (other.counts[otherSlot] == 0) {
+                continue;
+            }
+            int slot = slotOf(other.index.keyAt(otherSlot));
+            counts[slot] += other.counts[otherSlot];
+            sums[slot] += other.sums[otherSlot];
+            mins[slot] = Math.min(mins[slot], other.mins[otherSlot]);
+            maxs[slot] = Math.max(maxs[slot], other.maxs[otherSlot]);
+        }
+        return this;
+    }
+
+    /**
+     * @return 값이 하나 이상 있는 key. 처음 나온 순서(enum이면 ordinal 순서)
+     */
+    public List<K> keys() {
+        List<K> keys = new ArrayList<>();
+        for (int slot = 0; slot < index.slotSize(); slot++) {
+            if (counts[slot] > 0) {
+                keys.add(index.keyAt(slot));
+            }
+        }
+        return keys;
+    }
+
+    public long getCount(K key) {
+        int slot = slot(key);
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    public long getSum(K key) {
+        int slot = slot(key);
+        return slot < 0 ? 0 : sums[slot];
+    }
+
+    public long getMin(K key) {
+        int slot = slot(key);
+        return slot < 0 ? Long.MAX_VALUE : mins[slot];
+    }
+
+    public long getMax(K key) {
+        int slot = slot(key);
+        return slot < 0 ? Long.MIN_VALUE : maxs[slot];
+    }
+
+    public double getAverage(K key) {
+        int slot = slot(key);
+        return slot < 0 ? 0.0 : (double) sums[slot] / counts[slot];
+    }
+
+    int slotSize() {
+        return index.slotSize();
+    }
+
+    K keyAt(int slot) {
+        return index.keyAt(slot);
+    }
+
+    long countAt(int slot) {
+        return counts[slot];
+    }
+
+    long sumAt(int slot) {
+        return sums[slot];
+    }
+
+    long minAt(int slot) {
+        return mins[slot];
+    }
+
+    long maxAt(int slot) {
+        return maxs[slot];
+    }
+
+    private int slot(K key) {
+        int slot = index.find(key);
+        return slot >= 0 && slot < counts.length && counts[slot] > 0 ? slot : -1;
+    }
+
+    private void grow(int minSlotSize) {
+        int slotSize = Math.max(minSlotSize, counts.length << 1);
+        int oldSlotSize = counts.length;
+        counts = Arrays.copyOf(counts, slotSize);
+        sums = Arrays.copyOf(sums, slotSize);
+        mins = Arrays.copyOf(mins, slotSize);
+        maxs = Arrays.copyOf(maxs, slotSize);
+        Arrays.fill(mins, oldSlotSize, slotSize, Long.MAX_VALUE);
+        Arrays.fill(maxs, oldSlotSize, slotSize, Long.MIN_VALUE);
+    }
+}
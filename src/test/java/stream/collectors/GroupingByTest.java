@@ -6,18 +6,27 @@ import stream.collectors.blog.BlogPost;
 import stream.collectors.blog.BlogPostType;
 import stream.collectors.blog.Tuple;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static stream.collectors.blog.BlogPostType.*;
 
@@ -52,6 +61,60 @@ public class GroupingByTest {
         assertEquals(postsPerTypeAndAuthor.get(new Tuple(GUIDE,"작가1")).size(), 1);
     }
 
+    @DisplayName("Tuple을 요소마다 만들지 않고 여러 칼럼 key로 그룹핑")
+    @Test
+    void groupingByCompositeKey() {
+        Map<Tuple, List<BlogPost>> postsPerTypeAndAuthor = posts.parallelStream()
+                .collect(CompositeKeyGroupingBy.groupingBy(BlogPost::getType, BlogPost::getAuthor, Tuple::new));
+
+        assertEquals(postsPerTypeAndAuthor, posts.stream()
+                .collect(Collectors.groupingBy(post -> new Tuple(post.getType(), post.getAuthor()))));
+        assertEquals(postsPerTypeAndAuthor.get(new Tuple(GUIDE, "작가1")).size(), 1);
+        assertEquals(postsPerTypeAndAuthor.get(new Tuple(GUIDE, "작가4")).size(), 2);
+
+        Map<List<Object>, Long> countPerTypeAndAuthor = posts.stream()
+                .collect(CompositeKeyGroupingBy.groupingBy(
+                        Arrays.<Function<BlogPost, ?>>asList(BlogPost::getType, BlogPost::getAuthor), Collectors.counting()));
+
+        assertEquals(countPerTypeAndAuthor.keySet().iterator().next(), Arrays.asList(GUIDE, "작가1"));
+        assertEquals(countPerTypeAndAuthor.get(Arrays.asList(REVIEW, "작가1")), 2L);
+        assertEquals(countPerTypeAndAuthor.size(), 6);
+    }
+
+    @DisplayName("병렬 스트림에서 합칠 때 왼쪽에 없는 그룹은 오른쪽 key와 컨테이너를 그대로 쓴다")
+    @Test
+    @SuppressWarnings("unchecked")
+    void combineCompositeKeyGroups() {
+        AtomicInteger keyCount = new AtomicInteger();
+        AtomicInteger containerCount = new AtomicInteger();
+        Collector<BlogPost, Object, Map<Tuple, ArrayList<BlogPost>>> collector =
+                (Collector<BlogPost, Object, Map<Tuple, ArrayList<BlogPost>>>) CompositeKeyGroupingBy.groupingBy(
+                        BlogPost::getType, BlogPost::getAuthor,
+                        (type, author) -> {
+                            keyCount.incrementAndGet();
+                            return new Tuple(type, author);
+                        },
+                        Collectors.toCollection(() -> {
+                            containerCount.incrementAndGet();
+                            return new ArrayList<BlogPost>();
+                        }));
+        Object left = collector.supplier().get();
+        collector.accumulator().accept(left, posts.get(0));
+        collector.accumulator().accept(left, posts.get(1));
+        Object right = collector.supplier().get();
+        collector.accumulator().accept(right, posts.get(2));
+        collector.accumulator().accept(right, posts.get(3));
+
+        Map<Tuple, ArrayList<BlogPost>> postsPerTypeAndAuthor =
+                collector.finisher().apply(collector.combiner().apply(left, right));
+
+        assertEquals(keyCount.get(), 4);
+        assertEquals(containerCount.get(), 4);
+        assertEquals(postsPerTypeAndAuthor.keySet(), new LinkedHashSet<>(Arrays.asList(
+                new Tuple(GUIDE, "작가1"), new Tuple(REVIEW, "작가1"), new Tuple(NEWS, "작가2"))));
+        assertEquals(postsPerTypeAndAuthor.get(new Tuple(REVIEW, "작가1")), posts.subList(1, 3));
+    }
+
     @DisplayName("value를 List가 아니라 원하는 방식으로 mapping")
     @Test
     void groupingByModifyingValueType() {
@@ -120,6 +183,73 @@ public class GroupingByTest {
         assertEquals(minLikesPerPostType.get(GUIDE).get().getLikes(), min);
     }
 
+    @DisplayName("박싱 없이 그룹별 개수, 합계, 평균, 최소, 최대를 한 번에 구하기")
+    @Test
+    void gettingGroupingResultsWithPrimitiveStats() {
+        GroupedLongStats<String> likesPerAuthor = posts.stream()
+                .collect(PrimitiveGroupingBy.summarizingInt(BlogPost::getAuthor, BlogPost::getLikes));
+        GroupedLongStats<BlogPostType> likesPerType = posts.stream()
+                .collect(PrimitiveGroupingBy.summarizingInt(BlogPostType.class, BlogPost::getType, BlogPost::getLikes));
+        GroupedDoubleStats<BlogPostType> parallelLikesPerType = posts.parallelStream()
+                .collect(PrimitiveGroupingBy.summarizingDouble(BlogPost::getType, BlogPost::getLikes));
+
+        assertEquals(likesPerAuthor.keys(), Arrays.asList("작가1", "작가2", "작가3", "작가4"));
+        assertEquals(likesPerAuthor.getCount("작가1"), 3);
+        assertEquals(likesPerAuthor.getSum("작가1"), 6);
+        assertEquals(likesPerAuthor.getAverage("작가1"), 2);
+        assertEquals(likesPerAuthor.getCount("작가5"), 0);
+        assertEquals(likesPerType.getMax(GUIDE), 7);
+        assertEquals(likesPerType.getMin(GUIDE), 1);
+        assertEquals(likesPerType.getCount(GUIDE), 4);
+        assertEquals(parallelLikesPerType.getSum(REVIEW), 11);
+        assertEquals(parallelLikesPerType.getMin(NEWS), 4);
+    }
+
+    @DisplayName("한 번만 돌면서 그룹별 개수, 합계, 최대, 최소, 평균, 서로 다른 값 개수 구하기")
+    @Test
+    void gettingGroupingResultsInOnePass() {
+        Map<BlogPostType, AggregatingGroupingBy.Summary> likesPerType = posts.parallelStream()
+                .collect(AggregatingGroupingBy.aggregating(BlogPostType.class, BlogPost::getType, BlogPost::getLikes,
+                        EnumSet.allOf(AggregatingGroupingBy.Aggregate.class)));
+        Map<String, AggregatingGroupingBy.Summary> likesPerAuthor = posts.stream()
+                .collect(AggregatingGroupingBy.aggregating(BlogPost::getAuthor, BlogPost::getLikes,
+                        EnumSet.of(AggregatingGroupingBy.Aggregate.SUM, AggregatingGroupingBy.Aggregate.AVERAGE)));
+
+        AggregatingGroupingBy.Summary guide = likesPerType.get(GUIDE);
+        assertEquals(guide.getCount(), 4);
+        assertEquals(guide.getSum(), 20);
+        assertEquals(guide.getMax(), 7);
+        assertEquals(guide.getMin(), 1);
+        assertEquals(guide.getAverage(), 5);
+        assertEquals(guide.getDistinctCount(), 3); //7이 두 번
+        assertEquals(likesPerAuthor.get("작가1").getSum(), 6);
+        assertEquals(likesPerAuthor.get("작가1").getAverage(), 2);
+        assertThrows(IllegalStateException.class, () -> likesPerAuthor.get("작가1").getMax());
+    }
+
+    @DisplayName("그룹이 많아 slot이 늘어나도 병렬로 합친 결과가 Collectors와 같다.")
+    @Test
+    void gettingManyGroupResultsInOnePass() {
+        Map<Integer, AggregatingGroupingBy.Summary> summaries = IntStream.range(0, 100_000).boxed().parallel()
+                .collect(AggregatingGroupingBy.aggregating(i -> i % 1_000, i -> i % 7,
+                        EnumSet.allOf(AggregatingGroupingBy.Aggregate.class)));
+        Map<Integer, LongSummaryStatistics> expected = IntStream.range(0, 100_000).boxed()
+                .collect(Collectors.groupingBy(i -> i % 1_000, Collectors.summarizingLong(i -> i % 7)));
+        Map<Integer, Set<Integer>> expectedDistinct = IntStream.range(0, 100_000).boxed()
+                .collect(Collectors.groupingBy(i -> i % 1_000, Collectors.mapping(i -> i % 7, Collectors.toSet())));
+
+        assertEquals(summaries.keySet(), expected.keySet());
+        expected.forEach((key, statistics) -> {
+            AggregatingGroupingBy.Summary summary = summaries.get(key);
+            assertEquals(summary.getCount(), statistics.getCount());
+            assertEquals(summary.getSum(), statistics.getSum());
+            assertEquals(summary.getMin(), statistics.getMin());
+            assertEquals(summary.getMax(), statistics.getMax());
+            assertEquals(summary.getAverage(), statistics.getAverage());
+            assertEquals(summary.getDistinctCount(), expectedDistinct.get(key).size());
+        });
+    }
+
     @DisplayName("value를 커스텀하여 저장하기")
     @Test
     void mappingGroupedResultsToDifferentType() {
@@ -0,0 +1,69 @@
+package stream.collectors;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * groupingBy(classifier, summarizingInt(mapper))를 박싱 없이 한 번에 모으는 collector 모음
+ * <br>
+ * Collectors.groupingBy는 그룹마다 HashMap Node와 downstream 컨테이너(summingInt는 int[1], averagingInt는 long[2])를 만들고,
+ * 결과도 Integer, Long, Double로 박싱한다. 여기서는 GroupIndex가 key를 slot 번호로 바꾸고, 값은 GroupedLongStats/GroupedDoubleStats의 원시 타입 배열에 쌓는다.
+ * 개수, 합계, 평균, 최소, 최대를 한 번에 구한다.
+ * <br>
+ * enum key는 enumType을 넘기면 해시 없이 ordinal을 slot으로 쓴다.
+ */
+public class PrimitiveGroupingBy {
+    private PrimitiveGroupingBy() {
+    }
+
+    public static <T, K> Collector<T, ?, GroupedLongStats<K>> summarizingInt(
+            Function<? super T, ? extends K> classifier, ToIntFunction<? super T> mapper) {
+        return summarizingLong(GroupIndex.hashed(), classifier, t -> mapper.applyAsInt(t));
+    }
+
+    public static <T, E extends Enum<E>> Collector<T, ?, GroupedLongStats<E>> summarizingInt(
+            Class<E> enumType, Function<? super T, ? extends E> classifier, ToIntFunction<? super T> mapper) {
+        return summarizingLong(GroupIndex.ofEnum(enumType), classifier, t -> mapper.applyAsInt(t));
+    }
+
+    public static <T, K> Collector<T, ?, GroupedLongStats<K>> summarizingLong(
+            Function<? super T, ? extends K> classifier, ToLongFunction<? super T> mapper) {
+        return summarizingLong(GroupIndex.hashed(), classifier, mapper);
+    }
+
+    public static <T, E extends Enum<E>> Collector<T, ?, GroupedLongStats<E>> summarizingLong(
+            Class<E> enumType, Function<? super T, ? extends E> classifier, ToLongFunction<? super T> mapper) {
+        return summarizingLong(GroupIndex.ofEnum(enumType), classifier, mapper);
+    }
+
+    public static <T, K> Collector<T, ?, GroupedDoubleStats<K>> summarizingDouble(
+            Function<? super T, ? extends K> classifier, ToDoubleFunction<? super T> mapper) {
+        return summarizingDouble(GroupIndex.hashed(), classifier, mapper);
+    }
+
+    public static <T, E extends Enum<E>> Collector<T, ?, GroupedDoubleStats<E>> summarizingDouble(
+            Class<E> enumType, Function<? super T, ? extends E> classifier, ToDoubleFunction<? super T> mapper) {
+        return summarizingDouble(GroupIndex.ofEnum(enumType), classifier, mapper);
+    }
+
+    private static <T, K> Collector<T, GroupedLongStats<K>, GroupedLongStats<K>> summarizingLong(
+            GroupIndex<K> index, Function<? super T, ? extends K> classifier, ToLongFunction<? super T> mapper) {
+        return Collector.of(
+                () -> new GroupedLongStats<>(index.newEmpty()),
+                (stats, t) -> stats.accept(classifier.apply(t), mapper.applyAsLong(t)),
+                GroupedLongStats::combine,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    private static <T, K> Collector<T, GroupedDoubleStats<K>, GroupedDoubleStats<K>> summarizingDouble(
+            GroupIndex<K> index, Function<? super T, ? extends K> classifier, ToDoubleFunction<? super T> mapper) {
+        return Collector.of(
+                () -> new GroupedDoubleStats<>(index.newEmpty()),
+                (stats, t) -> stats.accept(classifier.apply(t), mapper.applyAsDouble(t)),
+                GroupedDoubleStats::combine,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+}
@@ -0,0 +1,12 @@
+package synchronize;
+
+/**
+ * producer/consumer 예제에서 쓰는 크기가 제한된 버퍼
+ * <br>
+ * 버퍼가 가득 차 있으면 insert가, 비어 있으면 remove가 자리가 날 때까지 기다린다. name은 로그에 남길 스레드 이름이다.
+ */
+public interface BlockingBuffer<T> {
+	void insert(T item, String name);
+
+	T remove(String name);
+}
@@ -0,0 +1,52 @@
+package synchronize;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * ReentrantLock의 Condition에서 기다리는 WaitStrategy
+ * <br>
+ * 기다리는 스레드가 없으면 signalAll()은 락을 잡지 않으므로, 버퍼가 가득 차거나 비지 않는 동안에는 락 비용이 없다.
+ * 기다리는 쪽은 waiters를 늘린 뒤 조건을 다시 확인하고, 깨우는 쪽은 상태를 바꾼 뒤 waiters를 확인하므로 신호를 놓치지 않는다.
+ */
+class BlockingWaitStrategy implements WaitStrategy {
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition changed = lock.newCondition();
+	private final AtomicInteger waiters = new AtomicInteger();
+
+	@Override
+	public void await(BooleanSupplier ready) {
+		if (ready.getAsBoolean()) {
+			return;
+		}
+		lock.lock();
+		waiters.incrementAndGet();
+		try {
+			while (!ready.getAsBoolean()) {
+				// 기존 BoundedBuffer처럼 인터럽트가 와도 계속 기다린다. 인터럽트 상태는 남는다.
+				changed.awaitUninterruptibly();
+			}
+		} finally {
+			waiters.decrementAndGet();
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void signalAll() {
+		// 앞선 상태 변경(release store)이 waiters 읽기보다 늦게 보이지 않도록 막는다.
+		VarHandle.fullFence();
+		if (waiters.get() == 0) {
+			return;
+		}
+		lock.lock();
+		try {
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package synchronize;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 버퍼에서 일어난 일을 세는 카운터. 락을 잡은 채로 콘솔에 로그를 찍는 대신 LongAdder를 올린다.
+ * <br>
+ * LongAdder는 스레드마다 다른 셀에 더하므로 여러 스레드가 동시에 올려도 같은 캐시 라인을 두고 다투지 않는다.
+ * 값을 읽을 때만 셀을 합치므로, {@link #snapshot()}은 버퍼를 멈추지 않고 언제든 부를 수 있다.
+ * <ul>
+ *     <li>inserts, removes: 넣고 꺼낸 항목 수</li>
+ *     <li>waits, resumes: 가득 차거나 비어서 wait()에 들어간 횟수와 깨어난 횟수</li>
+ *     <li>interrupts: 기다리다가 인터럽트를 받은 횟수</li>
+ *     <li>waitTimeHistogram: {@link #withWaitTimeHistogram()}으로 만들었을 때만 기록한다. i번째 칸은 기다린 시간이 2^i ~ 2^(i+1) 나노초인 횟수</li>
+ * </ul>
+ * 여러 버퍼에 같은 인스턴스를 넘기면 합계를 센다.
+ */
+public class BufferMetrics {
+	private static final int HISTOGRAM_BUCKET_SIZE = Long.SIZE;
+
+	private final LongAdder inserts = new LongAdder();
+	private final LongAdder removes = new LongAdder();
+	private final LongAdder waits = new LongAdder();
+	private final LongAdder resumes = new LongAdder();
+	private final LongAdder interrupts = new LongAdder();
+	private final LongAdder[] waitTimeHistogram;
+
+	private BufferMetrics(boolean recordWaitTime) {
+		if (!recordWaitTime) {
+			this.waitTimeHistogram = null;
+			return;
+		}
+		this.waitTimeHistogram = new LongAdder[HISTOGRAM_BUCKET_SIZE];
+		for (int i = 0; i < HISTOGRAM_BUCKET_SIZE; i++) {
+			waitTimeHistogram[i] = new LongAdder();
+		}
+	}
+
+	public static BufferMetrics counting() {
+		return new BufferMetrics(false);
+	}
+
+	/**
+	 * 기다릴 때마다 System.nanoTime()을 두 번 부르는 비용이 더해진다.
+	 */
+	public static BufferMetrics withWaitTimeHistogram() {
+		return new BufferMetrics(true);
+	}
+
+	public boolean isRecordingWaitTime() {
+		return waitTimeHistogram != null;
+	}
+
+	public void inserted(int size) {
+		inserts.add(size);
+	}
+
+	public void removed(int size) {
+		removes.add(size);
+	}
+
+	/**
+	 * @return 기다린 시간을 잴 때 넘길 시작 시각. 기다린 시간을 기록하지 않으면 0
+	 */
+	public long waiting() {
+		waits.increment();
+		return isRecordingWaitTime() ? System.nanoTime() : 0L;
+	}
+
+	public void resumed(long waitStartNanos) {
+		resumes.increment();
+		if (isRecordingWaitTime()) {
+			long waitedNanos = Math.max(1L, System.nanoTime() - waitStartNanos);
+			waitTimeHistogram[HISTOGRAM_BUCKET_SIZE - 1 - Long.numberOfLeadingZeros(waitedNanos)].increment();
+		}
+	}
+
+	public void interrupted() {
+		interrupts.increment();
+	}
+
+	public Snapshot snapshot() {
+		long[] histogram = new long[isRecordingWaitTime() ? HISTOGRAM_BUCKET_SIZE : 0];
+		for (int i = 0; i < histogram.length; i++) {
+			histogram[i] = waitTimeHistogram[i].sum();
+		}
+		return new Snapshot(inserts.sum(), removes.sum(), waits.sum(), resumes.sum(), interrupts.sum(), histogram);
+	}
+
+	/**
+	 * 카운터마다 따로 합치므로, 버퍼가 움직이는 중에 찍은 스냅샷은 카운터끼리 정확히 맞지 않을 수 있다.
+	 */
+	public static class Snapshot {
+		private final long inserts;
+		private final long removes;
+		private final long waits;
+		private final long resumes;
+		private final long interrupts;
+		private final long[] waitTimeHistogram;
+
+		private Snapshot(long inserts, long removes, long waits, long resumes, long interrupts, long[] waitTimeHistogram) {
+			this.inserts = inserts;
+			this.removes = removes;
+			this.waits = waits;
+			this.resumes = resumes;
+			this.interrupts = interrupts;
+			this.waitTimeHistogram = waitTimeHistogram;
+		}
+
+		public long getInserts() {
+			return inserts;
+		}
+
+		public long getRemoves() {
+			return removes;
+		}
+
+		public long getWaits() {
+			return waits;
+		}
+
+		public long getResumes() {
+			return resumes;
+		}
+
+		public long getInterrupts() {
+			return interrupts;
+		}
+
+		/**
+		 * @return i번째 칸은 기다린 시간이 2^i ~ 2^(i+1) 나노초인 횟수. 기록하지 않았으면 빈 배열
+		 */
+		public long[] getWaitTimeHistogram() {
+			return waitTimeHistogram.clone();
+		}
+
+		@Override
+		public String toString() {
+			return String.format("inserts=%d, removes=%d, waits=%d, resumes=%d, interrupts=%d, waitTimeHistogram=%s",
+				inserts, removes, waits, resumes, interrupts, Arrays.toString(waitTimeHistogram));
+		}
+	}
+}
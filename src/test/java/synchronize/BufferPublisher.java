@@ -0,0 +1,279 @@
+package synchronize;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WaitAndNotifyTest.BoundedBuffer를 Flow.Publisher로 감싸서, 스레드를 재우지 않고 producer와 subscriber를 잇는다.
+ * <br>
+ * <ul>
+ *     <li>producer: offer()는 기다리지 않고 CompletableFuture를 돌려준다. 버퍼에 자리가 있으면 바로 완료되고,
+ *     없으면 대기열에 있다가 subscriber가 항목을 꺼내 자리가 날 때 완료된다. 완료되기 전에 다음 항목을 보내지 않으면 버퍼 크기로 속도가 조절된다.</li>
+ *     <li>subscriber: request(n)으로 받은 수요만큼 버퍼에서 batchSize개씩 묶어 꺼내(tryDrainTo) onNext로 넘긴다.
+ *     수요가 없으면 꺼내지 않으므로 항목은 버퍼에 남고, 버퍼가 차면 producer의 future가 늦게 완료된다.</li>
+ * </ul>
+ * 항목 하나는 subscriber 하나에게만 간다. (모두에게 보내는 SubmissionPublisher와 달리 작업 큐처럼 나눠 가진다)
+ * subscriber마다 전달 작업은 executor에서 한 번에 하나씩만 돌므로, 한 subscriber에게는 onNext가 동시에 불리지 않는다.
+ * onError, onComplete도 전달 작업에서만 보낸다. (request(n <= 0)도 오류를 기록해 두고 전달 작업이 onError를 보낸다)
+ * <br>
+ * onNext가 예외를 던지면 그 subscriber는 취소하고 onError를 보낸다. 같이 꺼내 두었지만 아직 넘기지 못한 항목은
+ * 되돌림 대기열 맨 앞에 넣어 두고, 다른 subscriber가 버퍼보다 먼저 가져간다.
+ * 버퍼에서 꺼낸 뒤 넘기기 전인 항목은 outstandingItems로 세어서, 그 항목이 되돌아올 수 있는 동안에는 다른 subscriber도 끝나지 않는다.
+ * <br>
+ * close()하면 새 offer는 거절하고, 대기열과 버퍼에 남은 항목을 모두 넘긴 뒤 subscriber에게 onComplete를 보낸다.
+ */
+public class BufferPublisher<T> implements Flow.Publisher<T>, AutoCloseable {
+	private final WaitAndNotifyTest.BoundedBuffer<T> buffer;
+	private final int batchSize;
+	private final Executor executor;
+	private final Queue<PendingOffer<T>> pendingOffers = new ConcurrentLinkedQueue<>();
+	private final Deque<T> returnedItems = new ConcurrentLinkedDeque<>();
+	// 버퍼에서 꺼냈지만 아직 onNext로 넘기지 않은 항목 수 (전달 중인 batch와 되돌림 대기열의 항목)
+	private final AtomicInteger outstandingItems = new AtomicInteger();
+	private final List<BufferSubscription> subscriptions = new CopyOnWriteArrayList<>();
+	private volatile boolean closed;
+
+	public BufferPublisher(int bufferSize, int batchSize, Executor executor) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("batchSize는 0보다 커야 합니다. : " + batchSize);
+		}
+		this.buffer = new WaitAndNotifyTest.BoundedBuffer<>(bufferSize);
+		this.batchSize = batchSize;
+		this.executor = Objects.requireNonNull(executor);
+	}
+
+	/**
+	 * @return 항목이 버퍼에 들어가면 완료된다. 닫힌 뒤에 부르면 IllegalStateException으로 실패한 future
+	 */
+	public CompletableFuture<Void> offer(T item) {
+		Objects.requireNonNull(item, "null은 넣을 수 없습니다.");
+		PendingOffer<T> pendingOffer;
+		// close()와 겹쳐서, subscriber가 onComplete를 보낸 뒤에 항목이 들어가는 일이 없도록 한다.
+		synchronized (this) {
+			if (closed) {
+				return CompletableFuture.failedFuture(new IllegalStateException("닫힌 publisher에는 넣을 수 없습니다."));
+			}
+			if (pendingOffers.isEmpty() && buffer.tryInsert(item)) {
+				pendingOffer = null;
+			} else {
+				pendingOffer = new PendingOffer<>(item);
+				pendingOffers.add(pendingOffer);
+			}
+		}
+		if (pendingOffer == null) {
+			signalSubscriptions();
+			return CompletableFuture.completedFuture(null);
+		}
+		// 대기열에 넣는 사이에 subscriber가 자리를 비웠을 수 있으므로 한 번 더 옮겨 본다.
+		movePendingOffers();
+		return pendingOffer.future;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber) {
+		Objects.requireNonNull(subscriber);
+		BufferSubscription subscription = new BufferSubscription(subscriber);
+		subscriptions.add(subscription);
+		subscriber.onSubscribe(subscription);
+		if (closed) {
+			subscription.signal();
+		}
+	}
+
+	@Override
+	public void close() {
+		synchronized (this) {
+			closed = true;
+		}
+		subscriptions.forEach(BufferSubscription::signal);
+	}
+
+	public int getSubscriberSize() {
+		return subscriptions.size();
+	}
+
+	public BufferMetrics.Snapshot metrics() {
+		return buffer.metrics();
+	}
+
+	/**
+	 * 대기열의 항목을 자리가 나는 만큼 순서대로 버퍼에 옮긴다. future는 락 밖에서 완료해서 이어지는 작업이 락을 잡지 않게 한다.
+	 */
+	private void movePendingOffers() {
+		List<PendingOffer<T>> moved = new ArrayList<>();
+		synchronized (pendingOffers) {
+			PendingOffer<T> pendingOffer;
+			while ((pendingOffer = pendingOffers.peek()) != null && buffer.tryInsert(pendingOffer.item)) {
+				pendingOffers.poll();
+				moved.add(pendingOffer);
+			}
+		}
+		if (moved.isEmpty()) {
+			return;
+		}
+		signalSubscriptions();
+		moved.forEach(pendingOffer -> pendingOffer.future.complete(null));
+	}
+
+	private void signalSubscriptions() {
+		for (BufferSubscription subscription : subscriptions) {
+			if (subscription.demand.get() > 0) {
+				subscription.signal();
+			}
+		}
+	}
+
+	/**
+	 * 넘기지 못한 항목을 순서를 지켜 되돌림 대기열 맨 앞에 넣고, 다른 subscriber를 깨운다.
+	 * 항목은 outstandingItems에 센 채로 두고, 되돌림 대기열에서 꺼내 넘길 때 뺀다.
+	 */
+	private void returnItems(List<T> items) {
+		for (int i = items.size() - 1; i >= 0; i--) {
+			returnedItems.addFirst(items.get(i));
+		}
+		signalSubscriptions();
+	}
+
+	/**
+	 * 대기열, 버퍼, outstandingItems 순서로 본다. 대기열에서 빠진 항목은 이미 버퍼에 들어가 있고,
+	 * 버퍼에서 빠진 항목은 꺼내기 전에 outstandingItems에 더해 두었으므로 어느 쪽으로 옮겨 가든 놓치지 않는다.
+	 */
+	private boolean isDrained() {
+		return closed && pendingOffers.isEmpty() && buffer.size() == 0 && outstandingItems.get() == 0;
+	}
+
+	private static class PendingOffer<T> {
+		private final T item;
+		private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+		private PendingOffer(T item) {
+			this.item = item;
+		}
+	}
+
+	private class BufferSubscription implements Flow.Subscription, Runnable {
+		private final Flow.Subscriber<? super T> subscriber;
+		private final AtomicLong demand = new AtomicLong();
+		// signal() 횟수. 0에서 올린 스레드만 전달 작업을 executor에 넘기고, 작업은 0이 될 때까지 다시 확인한다.
+		private final AtomicInteger signals = new AtomicInteger();
+		private volatile boolean cancelled;
+		// request(n <= 0)의 오류. 호출한 스레드에서 바로 onError를 보내면 전달 작업의 onNext와 겹치므로 기록만 한다.
+		private volatile Throwable requestError;
+
+		private BufferSubscription(Flow.Subscriber<? super T> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				if (requestError == null) {
+					requestError = new IllegalArgumentException("request는 0보다 커야 합니다. : " + n);
+				}
+				signal();
+				return;
+			}
+			demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+			signal();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			subscriptions.remove(this);
+		}
+
+		private void signal() {
+			if (signals.getAndIncrement() == 0) {
+				executor.execute(this);
+			}
+		}
+
+		@Override
+		public void run() {
+			List<T> batch = new ArrayList<>(batchSize);
+			int missed = 1;
+			do {
+				if (requestError != null) {
+					fail(requestError);
+				} else {
+					try {
+						deliver(batch);
+					} catch (Throwable e) {
+						fail(e);
+					}
+				}
+				missed = signals.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void fail(Throwable error) {
+			if (!cancelled) {
+				cancel();
+				subscriber.onError(error);
+				// 넘기던 항목 때문에 끝내지 못하고 있던 subscriber가 있으면 깨운다.
+				if (isDrained()) {
+					subscriptions.forEach(BufferSubscription::signal);
+				}
+			}
+		}
+
+		private void deliver(List<T> batch) {
+			while (!cancelled && requestError == null && demand.get() > 0) {
+				T returned = returnedItems.poll();
+				if (returned != null) {
+					demand.decrementAndGet();
+					try {
+						subscriber.onNext(returned);
+					} finally {
+						outstandingItems.decrementAndGet();
+					}
+					continue;
+				}
+				int limit = (int) Math.min(demand.get(), batchSize);
+				// 꺼내기 전에 더해 두어야, 버퍼가 빈 것을 본 다른 subscriber가 이 batch를 놓치고 끝나지 않는다.
+				outstandingItems.addAndGet(limit);
+				int drained = buffer.tryDrainTo(batch, limit);
+				outstandingItems.addAndGet(drained - limit);
+				if (drained == 0) {
+					break;
+				}
+				movePendingOffers();
+				demand.addAndGet(-drained);
+				int delivered = 0;
+				try {
+					for (T item : batch) {
+						delivered++;
+						subscriber.onNext(item);
+					}
+				} catch (Throwable e) {
+					// 예외를 던진 항목은 넘긴 것으로 보고, 그 뒤의 항목만 되돌린다.
+					// 되돌림 대기열에서 항목을 받은 subscriber가 끝낼 수 있도록 outstandingItems를 먼저 맞춘다.
+					outstandingItems.addAndGet(-delivered);
+					returnItems(batch.subList(delivered, batch.size()));
+					throw e;
+				} finally {
+					batch.clear();
+				}
+				outstandingItems.addAndGet(-drained);
+			}
+			if (!cancelled && isDrained()) {
+				cancel();
+				subscriber.onComplete();
+				// 수요가 없어 깨어나지 않던 subscriber도 onComplete를 받도록 깨운다.
+				subscriptions.forEach(BufferSubscription::signal);
+			}
+		}
+	}
+}
@@ -0,0 +1,326 @@
+package synchronize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class BufferPublisherTest {
+	private static final int BUFFER_SIZE = 16;
+	private static final int BATCH_SIZE = 4;
+
+	/**
+	 * subscriber가 느려도 producer 스레드는 offer에서 멈추지 않고, 버퍼가 차면 future가 늦게 완료될 뿐이다.
+	 */
+	@DisplayName("느린 subscriber 20개가 나눠 받아도 producer가 보낸 항목을 빠짐없이 한 번씩 받고 onComplete로 끝난다.")
+	@Test
+	void slowSubscribersTest() throws InterruptedException {
+		//given
+		int subscriberSize = 20;
+		int itemSize = 2_000;
+		ExecutorService executor = Executors.newCachedThreadPool();
+		BufferPublisher<Integer> publisher = new BufferPublisher<>(BUFFER_SIZE, BATCH_SIZE, executor);
+		AtomicIntegerArray received = new AtomicIntegerArray(itemSize);
+		CountDownLatch completed = new CountDownLatch(subscriberSize);
+		for (int i = 0; i < subscriberSize; i++) {
+			publisher.subscribe(new SlowSubscriber(received, completed));
+		}
+
+		//when
+		List<CompletableFuture<Void>> offers = new ArrayList<>();
+		for (int item = 0; item < itemSize; item++) {
+			offers.add(publisher.offer(item));
+		}
+		CompletableFuture.allOf(offers.toArray(CompletableFuture<?>[]::new)).join();
+		publisher.close();
+		boolean allCompleted = completed.await(30, TimeUnit.SECONDS);
+		executor.shutdownNow();
+
+		//then
+		assertThat(allCompleted).isTrue();
+		for (int item = 0; item < itemSize; item++) {
+			assertThat(received.get(item)).as("item %d", item).isEqualTo(1);
+		}
+		assertThat(publisher.getSubscriberSize()).isZero();
+	}
+
+	@DisplayName("request한 만큼만 꺼내고, 버퍼가 차면 offer의 future는 subscriber가 더 request할 때까지 완료되지 않는다.")
+	@Test
+	void demandTest() throws Exception {
+		//given
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		BufferPublisher<Integer> publisher = new BufferPublisher<>(2, BATCH_SIZE, executor);
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		Flow.Subscription[] subscription = new Flow.Subscription[1];
+		publisher.subscribe(new Flow.Subscriber<>() {
+			@Override
+			public void onSubscribe(Flow.Subscription s) {
+				subscription[0] = s;
+			}
+
+			@Override
+			public void onNext(Integer item) {
+				received.add(item);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+			}
+
+			@Override
+			public void onComplete() {
+			}
+		});
+
+		//when
+		List<CompletableFuture<Void>> offers = new ArrayList<>();
+		for (int item = 0; item < 5; item++) {
+			offers.add(publisher.offer(item));
+		}
+		subscription[0].request(1);
+		executor.submit(() -> null).get(10, TimeUnit.SECONDS);
+
+		//then
+		assertThat(received).containsExactly(0);
+		assertThat(offers.stream().filter(CompletableFuture::isDone).count()).isEqualTo(3);
+
+		subscription[0].request(10);
+		CompletableFuture.allOf(offers.toArray(CompletableFuture<?>[]::new)).join();
+		executor.submit(() -> null).get(10, TimeUnit.SECONDS);
+		assertThat(received).containsExactly(0, 1, 2, 3, 4);
+		executor.shutdownNow();
+	}
+
+	@DisplayName("request(0)의 onError는 onNext 안에서 바로 불리지 않고, 전달 작업에서 한 번만 보낸다.")
+	@Test
+	void invalidRequestTest() throws Exception {
+		//given
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		BufferPublisher<Integer> publisher = new BufferPublisher<>(BUFFER_SIZE, BATCH_SIZE, executor);
+		List<String> signals = new CopyOnWriteArrayList<>();
+		publisher.offer(0);
+		publisher.offer(1);
+
+		//when
+		publisher.subscribe(new Flow.Subscriber<>() {
+			private Flow.Subscription subscription;
+			private boolean inOnNext;
+
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				this.subscription = subscription;
+				subscription.request(2);
+			}
+
+			@Override
+			public void onNext(Integer item) {
+				inOnNext = true;
+				signals.add("onNext " + item);
+				subscription.request(0);
+				inOnNext = false;
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				signals.add((inOnNext ? "onError in onNext " : "onError ") + throwable.getClass().getSimpleName());
+			}
+
+			@Override
+			public void onComplete() {
+				signals.add("onComplete");
+			}
+		});
+		executor.submit(() -> null).get(10, TimeUnit.SECONDS);
+
+		//then
+		assertThat(signals).containsExactly("onNext 0", "onNext 1", "onError IllegalArgumentException");
+		assertThat(publisher.getSubscriberSize()).isZero();
+		executor.shutdownNow();
+	}
+
+	@DisplayName("onNext가 예외를 던지면 같이 꺼낸 나머지 항목은 다른 subscriber가 받는다.")
+	@Test
+	void throwingSubscriberTest() throws Exception {
+		//given
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		BufferPublisher<Integer> publisher = new BufferPublisher<>(BUFFER_SIZE, BATCH_SIZE, executor);
+		for (int item = 0; item < BATCH_SIZE; item++) {
+			publisher.offer(item);
+		}
+		List<Throwable> errors = new CopyOnWriteArrayList<>();
+		publisher.subscribe(new Flow.Subscriber<>() {
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				subscription.request(BATCH_SIZE);
+			}
+
+			@Override
+			public void onNext(Integer item) {
+				throw new IllegalStateException("처리 실패 : " + item);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				errors.add(throwable);
+			}
+
+			@Override
+			public void onComplete() {
+			}
+		});
+		executor.submit(() -> null).get(10, TimeUnit.SECONDS);
+
+		//when
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		CountDownLatch completed = new CountDownLatch(1);
+		publisher.subscribe(new Flow.Subscriber<>() {
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+
+			@Override
+			public void onNext(Integer item) {
+				received.add(item);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+			}
+
+			@Override
+			public void onComplete() {
+				completed.countDown();
+			}
+		});
+		publisher.close();
+
+		//then
+		assertThat(completed.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(errors).hasSize(1);
+		assertThat(errors.get(0)).hasMessage("처리 실패 : 0");
+		assertThat(received).containsExactly(1, 2, 3);
+		executor.shutdownNow();
+	}
+
+	@DisplayName("다른 subscriber가 꺼낸 batch를 넘기는 중이면, 버퍼가 비어 있어도 끝내지 않고 되돌아온 항목을 받는다.")
+	@Test
+	void returnedWhileCompletingTest() throws Exception {
+		//given
+		ExecutorService executor = Executors.newCachedThreadPool();
+		BufferPublisher<Integer> publisher = new BufferPublisher<>(BUFFER_SIZE, BATCH_SIZE, executor);
+		for (int item = 0; item < BATCH_SIZE; item++) {
+			publisher.offer(item);
+		}
+		publisher.close();
+		CountDownLatch delivering = new CountDownLatch(1);
+		CountDownLatch failed = new CountDownLatch(1);
+		CountDownLatch completed = new CountDownLatch(1);
+		publisher.subscribe(new Flow.Subscriber<>() {
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				subscription.request(BATCH_SIZE);
+			}
+
+			@Override
+			public void onNext(Integer item) {
+				delivering.countDown();
+				// 고치기 전에는 이 사이에 다른 subscriber가 onComplete를 받고, 나머지 항목은 되돌아와도 받을 곳이 없었다.
+				try {
+					completed.await(1, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				throw new IllegalStateException("처리 실패 : " + item);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				failed.countDown();
+			}
+
+			@Override
+			public void onComplete() {
+			}
+		});
+		assertThat(delivering.await(10, TimeUnit.SECONDS)).isTrue();
+
+		//when
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		publisher.subscribe(new Flow.Subscriber<>() {
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+
+			@Override
+			public void onNext(Integer item) {
+				received.add(item);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+			}
+
+			@Override
+			public void onComplete() {
+				completed.countDown();
+			}
+		});
+
+		//then
+		assertThat(failed.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(completed.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(received).containsExactly(1, 2, 3);
+		executor.shutdownNow();
+	}
+
+	private static class SlowSubscriber implements Flow.Subscriber<Integer> {
+		private final AtomicIntegerArray received;
+		private final CountDownLatch completed;
+		private Flow.Subscription subscription;
+
+		private SlowSubscriber(AtomicIntegerArray received, CountDownLatch completed) {
+			this.received = received;
+			this.completed = completed;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			subscription.request(BATCH_SIZE);
+		}
+
+		@Override
+		public void onNext(Integer item) {
+			received.incrementAndGet(item);
+			try {
+				Thread.sleep(1);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			subscription.request(1);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			throwable.printStackTrace();
+		}
+
+		@Override
+		public void onComplete() {
+			completed.countDown();
+		}
+	}
+}
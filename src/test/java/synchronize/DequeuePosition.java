@@ -0,0 +1,5 @@
+package synchronize;
+
+abstract class DequeuePosition extends MiddlePadding {
+	volatile long dequeuePosition;
+}
@@ -0,0 +1,5 @@
+package synchronize;
+
+abstract class DequeuePositionPadding extends DequeuePosition {
+	long p21, p22, p23, p24, p25, p26, p27;
+}
@@ -0,0 +1,5 @@
+package synchronize;
+
+abstract class EnqueuePosition extends EnqueuePositionPadding {
+	volatile long enqueuePosition;
+}
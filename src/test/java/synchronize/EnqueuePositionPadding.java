@@ -0,0 +1,10 @@
+package synchronize;
+
+/**
+ * JVM은 상위 클래스 필드를 하위 클래스 필드보다 앞에 배치하므로, 상속 단계마다 long 7개를 끼워 두 카운터를 다른 캐시 라인에 둔다.
+ * <br>
+ * EnqueuePositionPadding → EnqueuePosition → MiddlePadding → DequeuePosition → DequeuePositionPadding 순서로 상속한다.
+ */
+abstract class EnqueuePositionPadding {
+	long p01, p02, p03, p04, p05, p06, p07;
+}
@@ -0,0 +1,87 @@
+package synchronize;
+
+import java.util.Objects;
+
+/**
+ * 락 없이 CAS로 동작하는 다중 producer/다중 consumer 버퍼 (Dmitry Vyukov의 bounded MPMC queue)
+ * <br>
+ * WaitAndNotifyTest.BoundedBuffer는 모든 insert/remove가 모니터 하나를 잡고, 자리가 나면 notify()로 스레드를 깨운다.
+ * 이 버퍼는 칸마다 sequence 번호를 두고, producer는 넣을 위치(enqueuePosition)를, consumer는 꺼낼 위치(dequeuePosition)를 각각 CAS로 가져간다.
+ * <ul>
+ *     <li>칸의 sequence == position 이면 비어 있는 칸이므로 producer가 쓸 수 있다.</li>
+ *     <li>칸의 sequence == position + 1 이면 채워진 칸이므로 consumer가 꺼낼 수 있다.</li>
+ *     <li>꺼낸 뒤에는 sequence를 position + capacity로 바꿔, 한 바퀴 뒤의 producer에게 칸을 넘긴다.</li>
+ * </ul>
+ * producer끼리, consumer끼리만 같은 카운터를 두고 경쟁하고, 두 카운터는 서로 다른 캐시 라인에 있도록 padding 한다.
+ * sequence와 위치 관리는 SequencedRing에 있고, 이 클래스는 Object[] 칸에 항목을 쓰고 읽는다. 그래서 capacity는 2 이상이어야 한다.
+ * <br>
+ * 가득 차거나 비어 있을 때 insert/remove가 기다리는 방법은 생성할 때 WaitStrategy로 고른다.
+ * 기본값은 잠깐 spin 하다가 yield, 그 다음엔 1µs씩 park 하는 parking 전략이다. name은 쓰지 않는다.
+ */
+public class LockFreeBoundedBuffer<T> extends SequencedRing implements BlockingBuffer<T> {
+	private static final long DEFAULT_MAX_PARK_NANOS = 1_000L;
+
+	private final Object[] items;
+	private final WaitStrategy waitStrategy;
+
+	public LockFreeBoundedBuffer(int capacity) {
+		this(capacity, WaitStrategy.parking(DEFAULT_MAX_PARK_NANOS));
+	}
+
+	public LockFreeBoundedBuffer(int capacity, WaitStrategy waitStrategy) {
+		super(capacity);
+		this.items = new Object[capacity];
+		this.waitStrategy = Objects.requireNonNull(waitStrategy);
+	}
+
+	@Override
+	public void insert(T item, String name) {
+		if (!tryInsert(item)) {
+			waitStrategy.await(() -> tryInsert(item));
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T remove(String name) {
+		T item = tryRemove();
+		if (item != null) {
+			return item;
+		}
+		Object[] removed = new Object[1];
+		waitStrategy.await(() -> (removed[0] = tryRemove()) != null);
+		return (T) removed[0];
+	}
+
+	/**
+	 * 가득 차 있으면 기다리지 않고 false를 돌려준다.
+	 */
+	public boolean tryInsert(T item) {
+		Objects.requireNonNull(item, "null은 넣을 수 없습니다.");
+		long position = claimEnqueuePosition();
+		if (position == NO_POSITION) {
+			return false;
+		}
+		items[index(position)] = item;
+		publish(position);
+		waitStrategy.signalAll();
+		return true;
+	}
+
+	/**
+	 * 비어 있으면 기다리지 않고 null을 돌려준다.
+	 */
+	@SuppressWarnings("unchecked")
+	public T tryRemove() {
+		long position = claimDequeuePosition();
+		if (position == NO_POSITION) {
+			return null;
+		}
+		int index = index(position);
+		T item = (T) items[index];
+		items[index] = null;
+		release(position);
+		waitStrategy.signalAll();
+		return item;
+	}
+}
@@ -0,0 +1,95 @@
+package synchronize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+public class LockFreeBoundedBufferTest {
+	private static final int PRODUCER_THREAD_SIZE = 4;
+	private static final int CONSUMER_THREAD_SIZE = 3;
+	private static final int BUFFER_SIZE = 3;
+
+	@DisplayName("가득 차면 tryInsert는 false를, 비어 있으면 tryRemove는 null을 돌려준다.")
+	@Test
+	void fullAndEmptyTest() {
+		//given
+		LockFreeBoundedBuffer<Integer> buffer = new LockFreeBoundedBuffer<>(BUFFER_SIZE);
+
+		//when, then
+		assertThat(buffer.tryRemove()).isNull();
+		for (int i = 0; i < BUFFER_SIZE; i++) {
+			assertThat(buffer.tryInsert(i)).isTrue();
+		}
+		assertThat(buffer.tryInsert(BUFFER_SIZE)).isFalse();
+		for (int i = 0; i < BUFFER_SIZE; i++) {
+			assertThat(buffer.tryRemove()).isEqualTo(i);
+		}
+		assertThat(buffer.tryRemove()).isNull();
+	}
+
+	@DisplayName("크기가 1이면 채워진 칸과 비어 있는 칸을 구분할 수 없으므로 만들 수 없다.")
+	@Test
+	void capacityOneTest() {
+		//when, then
+		assertThatThrownBy(() -> new LockFreeBoundedBuffer<Integer>(1))
+			.isInstanceOf(IllegalArgumentException.class);
+
+		//given
+		LockFreeBoundedBuffer<Integer> buffer = new LockFreeBoundedBuffer<>(2);
+
+		//when, then
+		assertThat(buffer.tryInsert(1)).isTrue();
+		assertThat(buffer.tryInsert(2)).isTrue();
+		assertThat(buffer.tryInsert(3)).isFalse();
+		assertThat(buffer.tryRemove()).isEqualTo(1);
+		assertThat(buffer.tryRemove()).isEqualTo(2);
+		assertThat(buffer.tryRemove()).isNull();
+	}
+
+	@DisplayName("producer 4개, consumer 3개가 동시에 주고받아도 빠지거나 중복되는 항목이 없다.")
+	@Test
+	void producerConsumerTest() throws InterruptedException, ExecutionException {
+		//given
+		LockFreeBoundedBuffer<Integer> buffer = new LockFreeBoundedBuffer<>(BUFFER_SIZE);
+
+		//when
+		AtomicIntegerArray received = ProducerConsumerTasks.transfer(buffer, PRODUCER_THREAD_SIZE, CONSUMER_THREAD_SIZE, 30_000);
+
+		//then
+		ProducerConsumerTasks.assertReceivedOnce(received);
+		assertThat(buffer.tryRemove()).isNull();
+	}
+
+	@DisplayName("어떤 대기 전략을 골라도 producer와 consumer가 서로를 기다렸다가 빠짐없이 주고받는다.")
+	@Test
+	void waitStrategyTest() throws InterruptedException, ExecutionException {
+		Map<String, Supplier<WaitStrategy>> waitStrategies = new LinkedHashMap<>();
+		waitStrategies.put("spinThenYield", WaitStrategy::spinThenYield);
+		waitStrategies.put("parking", () -> WaitStrategy.parking(1_000_000L));
+		waitStrategies.put("blocking", WaitStrategy::blocking);
+		// busySpin은 CPU를 양보하지 않으므로 스레드 수보다 코어가 적으면 타임 슬라이스가 돌아올 때만 진행된다.
+		if (Runtime.getRuntime().availableProcessors() >= PRODUCER_THREAD_SIZE + CONSUMER_THREAD_SIZE) {
+			waitStrategies.put("busySpin", WaitStrategy::busySpin);
+		}
+
+		for (Map.Entry<String, Supplier<WaitStrategy>> waitStrategy : waitStrategies.entrySet()) {
+			//given
+			LockFreeBoundedBuffer<Integer> buffer = new LockFreeBoundedBuffer<>(BUFFER_SIZE, waitStrategy.getValue().get());
+
+			//when
+			AtomicIntegerArray received = ProducerConsumerTasks.transfer(buffer, PRODUCER_THREAD_SIZE, CONSUMER_THREAD_SIZE, 3_000);
+
+			//then
+			assertThat(buffer.tryRemove()).as(waitStrategy.getKey()).isNull();
+			ProducerConsumerTasks.assertReceivedOnce(received);
+		}
+	}
+}
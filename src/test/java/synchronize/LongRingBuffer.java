@@ -0,0 +1,89 @@
+package synchronize;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * long 값만 담는 LockFreeBoundedBuffer. 항목을 long[]에 그대로 담으므로 넣고 꺼낼 때 Long 객체를 만들지 않는다.
+ * <br>
+ * 동작은 LockFreeBoundedBuffer와 같은 Vyukov bounded MPMC queue이고, sequence와 위치 관리는 같은 SequencedRing을 상속해서 쓴다.
+ * 그래서 capacity도 똑같이 2 이상이어야 한다.
+ * <br>
+ * 가득 차거나 비어 있을 때는 WaitStrategy.parking과 같은 순서(spin, yield, park를 maxParkNanos까지 두 배씩)로 기다린다.
+ * WaitStrategy.await에 넘기는 람다는 넣을 값이나 꺼낸 값을 붙잡아야 해서 기다릴 때마다 객체가 생기므로 쓰지 않는다.
+ * 그래서 기다리는 중에도 객체를 만들지 않는다.
+ */
+public class LongRingBuffer extends SequencedRing {
+	private static final long DEFAULT_MAX_PARK_NANOS = 1_000L;
+
+	private final long[] items;
+	private final long maxParkNanos;
+
+	public LongRingBuffer(int capacity) {
+		this(capacity, DEFAULT_MAX_PARK_NANOS);
+	}
+
+	public LongRingBuffer(int capacity, long maxParkNanos) {
+		super(capacity);
+		if (maxParkNanos < WaitStrategy.MIN_PARK_NANOS) {
+			throw new IllegalArgumentException("maxParkNanos는 " + WaitStrategy.MIN_PARK_NANOS + " 이상이어야 합니다. : " + maxParkNanos);
+		}
+		this.items = new long[capacity];
+		this.maxParkNanos = maxParkNanos;
+	}
+
+	public void insertLong(long item) {
+		long parkNanos = WaitStrategy.MIN_PARK_NANOS;
+		for (int tries = 0; !tryInsertLong(item); tries++) {
+			parkNanos = idle(tries, parkNanos);
+		}
+	}
+
+	public long removeLong() {
+		long parkNanos = WaitStrategy.MIN_PARK_NANOS;
+		long position;
+		for (int tries = 0; (position = claimDequeuePosition()) == NO_POSITION; tries++) {
+			parkNanos = idle(tries, parkNanos);
+		}
+		return take(position);
+	}
+
+	/**
+	 * 가득 차 있으면 기다리지 않고 false를 돌려준다.
+	 */
+	public boolean tryInsertLong(long item) {
+		long position = claimEnqueuePosition();
+		if (position == NO_POSITION) {
+			return false;
+		}
+		items[index(position)] = item;
+		publish(position);
+		return true;
+	}
+
+	/**
+	 * 비어 있으면 기다리지 않고 valueIfEmpty를 돌려준다. 모든 long 값을 담을 수 있으므로 비어 있음을 나타낼 값은 호출한 쪽에서 고른다.
+	 */
+	public long tryRemoveLong(long valueIfEmpty) {
+		long position = claimDequeuePosition();
+		return position == NO_POSITION ? valueIfEmpty : take(position);
+	}
+
+	private long take(long position) {
+		long item = items[index(position)];
+		release(position);
+		return item;
+	}
+
+	private long idle(int tries, long parkNanos) {
+		if (tries < WaitStrategy.SPIN_TRIES) {
+			Thread.onSpinWait();
+			return parkNanos;
+		}
+		if (tries < WaitStrategy.YIELD_TRIES) {
+			Thread.yield();
+			return parkNanos;
+		}
+		LockSupport.parkNanos(parkNanos);
+		return Math.min(parkNanos * 2, maxParkNanos);
+	}
+}
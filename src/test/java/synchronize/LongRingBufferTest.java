@@ -0,0 +1,85 @@
+package synchronize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class LongRingBufferTest {
+	private static final int PRODUCER_THREAD_SIZE = 4;
+	private static final int CONSUMER_THREAD_SIZE = 3;
+	private static final int BUFFER_SIZE = 3;
+	private static final long EMPTY = Long.MIN_VALUE;
+
+	@DisplayName("가득 차면 tryInsertLong은 false를, 비어 있으면 tryRemoveLong은 넘겨준 값을 돌려준다.")
+	@Test
+	void fullAndEmptyTest() {
+		//given
+		LongRingBuffer buffer = new LongRingBuffer(BUFFER_SIZE);
+
+		//when, then
+		assertThat(buffer.tryRemoveLong(EMPTY)).isEqualTo(EMPTY);
+		for (int i = 0; i < BUFFER_SIZE; i++) {
+			assertThat(buffer.tryInsertLong(Long.MAX_VALUE - i)).isTrue();
+		}
+		assertThat(buffer.tryInsertLong(0L)).isFalse();
+		for (int i = 0; i < BUFFER_SIZE; i++) {
+			assertThat(buffer.tryRemoveLong(EMPTY)).isEqualTo(Long.MAX_VALUE - i);
+		}
+		assertThat(buffer.tryRemoveLong(EMPTY)).isEqualTo(EMPTY);
+	}
+
+	@DisplayName("LockFreeBoundedBuffer와 같은 SequencedRing을 쓰므로 크기가 1이면 만들 수 없다.")
+	@Test
+	void capacityOneTest() {
+		//when, then
+		assertThatThrownBy(() -> new LongRingBuffer(1))
+			.isInstanceOf(IllegalArgumentException.class);
+
+		//given
+		LongRingBuffer buffer = new LongRingBuffer(2);
+
+		//when, then
+		assertThat(buffer.tryInsertLong(1L)).isTrue();
+		assertThat(buffer.tryInsertLong(2L)).isTrue();
+		assertThat(buffer.tryInsertLong(3L)).isFalse();
+		assertThat(buffer.tryRemoveLong(EMPTY)).isEqualTo(1L);
+		assertThat(buffer.tryRemoveLong(EMPTY)).isEqualTo(2L);
+		assertThat(buffer.tryRemoveLong(EMPTY)).isEqualTo(EMPTY);
+	}
+
+	@DisplayName("크기가 2여도 producer 4개, consumer 3개가 빠지거나 중복되는 값 없이 주고받는다.")
+	@Test
+	void smallCapacityTest() throws InterruptedException, ExecutionException {
+		//given
+		LongRingBuffer buffer = new LongRingBuffer(2);
+
+		//when
+		AtomicIntegerArray received = ProducerConsumerTasks.transfer(PRODUCER_THREAD_SIZE, CONSUMER_THREAD_SIZE, 3_000,
+			(item, name) -> buffer.insertLong(item), name -> (int) buffer.removeLong());
+
+		//then
+		ProducerConsumerTasks.assertReceivedOnce(received);
+		assertThat(buffer.tryRemoveLong(EMPTY)).isEqualTo(EMPTY);
+	}
+
+	@DisplayName("producer 4개, consumer 3개가 동시에 주고받아도 빠지거나 중복되는 값이 없다.")
+	@Test
+	void producerConsumerTest() throws InterruptedException, ExecutionException {
+		//given
+		LongRingBuffer buffer = new LongRingBuffer(BUFFER_SIZE);
+		long offset = 1L << 40;
+
+		//when
+		AtomicIntegerArray received = ProducerConsumerTasks.transfer(PRODUCER_THREAD_SIZE, CONSUMER_THREAD_SIZE, 30_000,
+			(item, name) -> buffer.insertLong(offset + item), name -> (int) (buffer.removeLong() - offset));
+
+		//then
+		ProducerConsumerTasks.assertReceivedOnce(received);
+		assertThat(buffer.tryRemoveLong(EMPTY)).isEqualTo(EMPTY);
+	}
+}
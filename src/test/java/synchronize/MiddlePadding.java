@@ -0,0 +1,5 @@
+package synchronize;
+
+abstract class MiddlePadding extends EnqueuePosition {
+	long p11, p12, p13, p14, p15, p16, p17;
+}
@@ -0,0 +1,254 @@
+package synchronize;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WaitAndNotifyTest의 producer/consumer 작업을 스레드 종류와 버퍼 구현을 바꿔가며 돌리고 처리량과 pinning을 잰다.
+ * <br>
+ * producer와 consumer는 WaitAndNotifyTest처럼 작업마다 스레드 하나씩 돌린다.
+ * <ul>
+ *     <li>PLATFORM: 작업마다 플랫폼 스레드를 만드는 캐시 스레드 풀</li>
+ *     <li>VIRTUAL: Executors.newVirtualThreadPerTaskExecutor() (Java 21 이상)</li>
+ * </ul>
+ * 프로젝트는 Java 17로 빌드하므로 가상 스레드 API는 리플렉션으로 찾는다. 사용할 수 없으면 {@link #isVirtualThreadAvailable()}이 false다.
+ * <br>
+ * pinning은 두 가지로 본다.
+ * <ul>
+ *     <li>pinnedEvents: 캐리어를 붙잡은 채로 park 한 횟수 (JFR jdk.VirtualThreadPinned 이벤트)</li>
+ *     <li>peakPlatformThreads: 실행 중 최대 플랫폼 스레드 수. synchronized 안에서 wait()로 캐리어가 묶이면 JDK가 캐리어를 더 만들어 보충하므로 늘어난다.</li>
+ * </ul>
+ */
+public class ProducerConsumerHarness {
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+	private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadExecutorFactory();
+
+	private ProducerConsumerHarness() {
+	}
+
+	public enum Threads {
+		PLATFORM, VIRTUAL
+	}
+
+	public static boolean isVirtualThreadAvailable() {
+		return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+	}
+
+	/**
+	 * producerSize개의 producer가 각각 itemsPerProducer개를 넣고, consumerSize개의 consumer가 나눠서 모두 꺼낼 때까지 기다린다.
+	 * 항목은 0부터 producerSize * itemsPerProducer - 1까지 서로 다른 값이고, 꺼낸 값마다 횟수를 세어 빠지거나 중복된 항목 수를 돌려준다.
+	 */
+	public static Result run(Threads threads, BlockingBuffer<Integer> buffer, int producerSize, int consumerSize, int itemsPerProducer)
+		throws InterruptedException {
+		long itemSize = (long) producerSize * itemsPerProducer;
+		if (itemSize > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("항목 수가 너무 많습니다. : " + itemSize);
+		}
+		List<Callable<Void>> tasks = new ArrayList<>(producerSize + consumerSize);
+		LongAdder removed = new LongAdder();
+		AtomicIntegerArray received = new AtomicIntegerArray((int) itemSize);
+		for (int c = 0; c < consumerSize; c++) {
+			String name = "CON " + c;
+			long share = itemSize / consumerSize + (c < itemSize % consumerSize ? 1 : 0);
+			tasks.add(() -> {
+				for (long i = 0; i < share; i++) {
+					received.incrementAndGet(buffer.remove(name));
+					removed.increment();
+				}
+				return null;
+			});
+		}
+		for (int p = 0; p < producerSize; p++) {
+			String name = "PRO " + p;
+			int first = p * itemsPerProducer;
+			tasks.add(() -> {
+				for (int item = first; item < first + itemsPerProducer; item++) {
+					buffer.insert(item, name);
+				}
+				return null;
+			});
+		}
+
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		threadMXBean.resetPeakThreadCount();
+		Recording recording = threads == Threads.VIRTUAL ? startPinnedRecording() : null;
+		ExecutorService executor = newExecutor(threads);
+		long startNanos = System.nanoTime();
+		try {
+			for (Future<Void> future : executor.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("producer/consumer 작업이 실패했습니다.", e.getCause());
+		} finally {
+			executor.shutdownNow();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		long elapsedNanos = System.nanoTime() - startNanos;
+		long pinnedEvents = recording == null ? 0 : countPinnedEvents(recording);
+
+		int lostItemSize = 0;
+		int duplicatedItemSize = 0;
+		for (int item = 0; item < received.length(); item++) {
+			if (received.get(item) == 0) {
+				lostItemSize++;
+			} else if (received.get(item) > 1) {
+				duplicatedItemSize++;
+			}
+		}
+		return new Result(removed.sum(), lostItemSize, duplicatedItemSize, elapsedNanos, pinnedEvents,
+			threadMXBean.getPeakThreadCount());
+	}
+
+	private static ExecutorService newExecutor(Threads threads) {
+		if (threads == Threads.PLATFORM) {
+			return Executors.newCachedThreadPool();
+		}
+		if (!isVirtualThreadAvailable()) {
+			throw new UnsupportedOperationException("이 JVM(" + Runtime.version() + ")에서는 가상 스레드를 사용할 수 없습니다.");
+		}
+		return createVirtualThreadExecutor(NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR);
+	}
+
+	/**
+	 * Java 19, 20은 메서드가 있어도 --enable-preview 없이는 UnsupportedOperationException을 던지므로 한 번 만들어 본다.
+	 */
+	private static Method findVirtualThreadExecutorFactory() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			createVirtualThreadExecutor(factory).shutdown();
+			return factory;
+		} catch (NoSuchMethodException | UnsupportedOperationException e) {
+			return null;
+		}
+	}
+
+	private static ExecutorService createVirtualThreadExecutor(Method factory) {
+		try {
+			return (ExecutorService) factory.invoke(null);
+		} catch (InvocationTargetException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Recording startPinnedRecording() {
+		Recording recording = new Recording();
+		recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+		recording.start();
+		return recording;
+	}
+
+	private static long countPinnedEvents(Recording recording) {
+		Path file = null;
+		try (recording) {
+			recording.stop();
+			file = Files.createTempFile("pinned", ".jfr");
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file).stream()
+				.map(RecordedEvent::getEventType)
+				.filter(eventType -> PINNED_EVENT.equals(eventType.getName()))
+				.count();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			deleteQuietly(file);
+		}
+	}
+
+	private static void deleteQuietly(Path file) {
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	public static class Result {
+		private final long itemSize;
+		private final int lostItemSize;
+		private final int duplicatedItemSize;
+		private final long elapsedNanos;
+		private final long pinnedEvents;
+		private final int peakPlatformThreads;
+
+		private Result(long itemSize, int lostItemSize, int duplicatedItemSize, long elapsedNanos, long pinnedEvents,
+			int peakPlatformThreads) {
+			this.itemSize = itemSize;
+			this.lostItemSize = lostItemSize;
+			this.duplicatedItemSize = duplicatedItemSize;
+			this.elapsedNanos = elapsedNanos;
+			this.pinnedEvents = pinnedEvents;
+			this.peakPlatformThreads = peakPlatformThreads;
+		}
+
+		public long getItemSize() {
+			return itemSize;
+		}
+
+		/**
+		 * 한 번도 꺼내지 못한 항목 수
+		 */
+		public int getLostItemSize() {
+			return lostItemSize;
+		}
+
+		/**
+		 * 두 번 이상 꺼낸 항목 수
+		 */
+		public int getDuplicatedItemSize() {
+			return duplicatedItemSize;
+		}
+
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+
+		public long getPinnedEvents() {
+			return pinnedEvents;
+		}
+
+		public int getPeakPlatformThreads() {
+			return peakPlatformThreads;
+		}
+
+		public double getItemsPerSecond() {
+			return itemSize * 1_000_000_000.0 / elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("items=%d, lost=%d, duplicated=%d, elapsed=%dms, items/s=%.0f, pinnedEvents=%d, peakPlatformThreads=%d",
+				itemSize, lostItemSize, duplicatedItemSize, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getItemsPerSecond(),
+				pinnedEvents, peakPlatformThreads);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package synchronize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ProducerConsumerHarnessTest {
+	private static final int BUFFER_SIZE = 3;
+
+	@DisplayName("플랫폼 스레드로 두 버퍼 모두 producer가 넣은 항목을 consumer가 모두 꺼낸다.")
+	@Test
+	void platformThreadTest() throws InterruptedException {
+		//given
+		int producerSize = 100;
+		int consumerSize = 3;
+
+		//when
+		ProducerConsumerHarness.Result synchronizedResult = ProducerConsumerHarness.run(
+			ProducerConsumerHarness.Threads.PLATFORM, new WaitAndNotifyTest.BoundedBuffer<>(BUFFER_SIZE), producerSize, consumerSize, 1);
+		ProducerConsumerHarness.Result lockResult = ProducerConsumerHarness.run(
+			ProducerConsumerHarness.Threads.PLATFORM, new ReentrantLockBoundedBuffer<>(BUFFER_SIZE), producerSize, consumerSize, 1);
+
+		//then
+		assertTransferredOnce(synchronizedResult, producerSize);
+		assertTransferredOnce(lockResult, producerSize);
+		assertThat(lockResult.getPinnedEvents()).isZero();
+	}
+
+	/**
+	 * Java 21 이상에서만 실행되고, 그보다 낮은 JVM에서는 skip으로 보고된다.
+	 * synchronized 버퍼는 wait()로 기다리는 동안 캐리어 스레드가 묶이므로 peakPlatformThreads가 늘어나고,
+	 * ReentrantLock 버퍼는 기다리는 동안 캐리어를 놓아주므로 pinning 이벤트가 없다.
+	 */
+	@DisplayName("가상 스레드 10,000개의 producer로 synchronized 버퍼와 ReentrantLock 버퍼의 처리량과 pinning을 비교한다.")
+	@Test
+	void virtualThreadTest() throws InterruptedException {
+		assumeTrue(ProducerConsumerHarness.isVirtualThreadAvailable(), "가상 스레드를 사용할 수 없는 JVM");
+
+		//given
+		int producerSize = 10_000;
+		int consumerSize = 100;
+		int itemsPerProducer = 10;
+
+		//when
+		ProducerConsumerHarness.Result synchronizedResult = ProducerConsumerHarness.run(ProducerConsumerHarness.Threads.VIRTUAL,
+			new WaitAndNotifyTest.BoundedBuffer<>(BUFFER_SIZE), producerSize, consumerSize, itemsPerProducer);
+		ProducerConsumerHarness.Result lockResult = ProducerConsumerHarness.run(ProducerConsumerHarness.Threads.VIRTUAL,
+			new ReentrantLockBoundedBuffer<>(BUFFER_SIZE), producerSize, consumerSize, itemsPerProducer);
+
+		//then
+		assertTransferredOnce(synchronizedResult, (long) producerSize * itemsPerProducer);
+		assertTransferredOnce(lockResult, (long) producerSize * itemsPerProducer);
+		assertThat(lockResult.getPinnedEvents()).isZero();
+	}
+
+	private void assertTransferredOnce(ProducerConsumerHarness.Result result, long itemSize) {
+		assertThat(result.getItemSize()).as(result.toString()).isEqualTo(itemSize);
+		assertThat(result.getLostItemSize()).as(result.toString()).isZero();
+		assertThat(result.getDuplicatedItemSize()).as(result.toString()).isZero();
+	}
+}
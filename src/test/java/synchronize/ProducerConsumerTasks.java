@@ -0,0 +1,102 @@
+package synchronize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * synchronize 버퍼 테스트가 함께 쓰는 producer/consumer 작업
+ * <br>
+ * producer p는 p * itemsPerProducer부터 itemsPerProducer개의 서로 다른 값을 넣고, consumer는 전체 개수를 나눠서 꺼낸다.
+ * 꺼낸 값마다 received[값]을 1씩 올리므로, 모두 1이면 빠지거나 중복된 항목이 없다.
+ */
+final class ProducerConsumerTasks {
+	private ProducerConsumerTasks() {
+	}
+
+	@FunctionalInterface
+	interface Inserter {
+		void insert(int item, String name);
+	}
+
+	@FunctionalInterface
+	interface Remover {
+		int remove(String name);
+	}
+
+	static AtomicIntegerArray transfer(BlockingBuffer<Integer> buffer, int producerSize, int consumerSize, int itemsPerProducer)
+		throws InterruptedException, ExecutionException {
+		return transfer(producerSize, consumerSize, itemsPerProducer, buffer::insert, buffer::remove);
+	}
+
+	static AtomicIntegerArray transfer(int producerSize, int consumerSize, int itemsPerProducer, Inserter inserter,
+		Remover remover) throws InterruptedException, ExecutionException {
+		AtomicIntegerArray received = new AtomicIntegerArray(producerSize * itemsPerProducer);
+		List<Callable<Void>> tasks = producers(producerSize, itemsPerProducer, inserter);
+		tasks.addAll(consumers(consumerSize, received, remover));
+		await(tasks);
+		return received;
+	}
+
+	static List<Callable<Void>> producers(int producerSize, int itemsPerProducer, Inserter inserter) {
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int p = 0; p < producerSize; p++) {
+			int first = p * itemsPerProducer;
+			String name = "PRO " + p;
+			tasks.add(() -> {
+				for (int item = first; item < first + itemsPerProducer; item++) {
+					inserter.insert(item, name);
+				}
+				return null;
+			});
+		}
+		return tasks;
+	}
+
+	/**
+	 * received.length()개를 consumerSize개의 consumer가 최대한 고르게 나눠 꺼낸다.
+	 */
+	static List<Callable<Void>> consumers(int consumerSize, AtomicIntegerArray received, Remover remover) {
+		int totalSize = received.length();
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int c = 0; c < consumerSize; c++) {
+			String name = "CON " + c;
+			int share = totalSize / consumerSize + (c < totalSize % consumerSize ? 1 : 0);
+			tasks.add(() -> {
+				for (int i = 0; i < share; i++) {
+					received.incrementAndGet(remover.remove(name));
+				}
+				return null;
+			});
+		}
+		return tasks;
+	}
+
+	/**
+	 * 작업마다 스레드 하나씩 돌리고, 30초 안에 끝나지 않으면 취소해서 future.get()이 실패하게 한다.
+	 */
+	static void await(List<Callable<Void>> tasks) throws InterruptedException, ExecutionException {
+		ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+		try {
+			for (Future<Void> future : executor.invokeAll(tasks, 30, TimeUnit.SECONDS)) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	static void assertReceivedOnce(AtomicIntegerArray received) {
+		for (int item = 0; item < received.length(); item++) {
+			assertThat(received.get(item)).as("item %d", item).isEqualTo(1);
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package synchronize;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * WaitAndNotifyTest.BoundedBuffer와 같은 버퍼를 synchronized/wait/notify 대신 ReentrantLock/Condition으로 만든다.
+ * <br>
+ * 가득 찬 경우와 빈 경우를 서로 다른 Condition에서 기다리므로, signal()로 깨운 스레드는 항상 진행할 수 있는 쪽이다.
+ * 가상 스레드는 synchronized 블록 안에서 wait()로 기다리면 캐리어 스레드를 붙잡지만(pinning), Condition.await()로 기다리면 캐리어를 놓아준다.
+ * 로그는 남기지 않는다.
+ */
+public class ReentrantLockBoundedBuffer<T> implements BlockingBuffer<T> {
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notFull = lock.newCondition();
+	private final Condition notEmpty = lock.newCondition();
+	private final int capacity;
+	private final int mask;
+	private final Object[] buffer;
+	private int count, in, out;
+
+	public ReentrantLockBoundedBuffer(int bufferSize) {
+		if (bufferSize <= 0 || bufferSize > MAX_CAPACITY) {
+			throw new IllegalArgumentException("버퍼 크기는 1 ~ " + MAX_CAPACITY + " 사이여야 합니다. : " + bufferSize);
+		}
+		this.capacity = bufferSize;
+		this.buffer = new Object[bufferSize == 1 ? 1 : Integer.highestOneBit(bufferSize - 1) << 1];
+		this.mask = buffer.length - 1;
+	}
+
+	@Override
+	public void insert(T item, String name) {
+		lock.lock();
+		try {
+			while (count == capacity) {
+				// BoundedBuffer처럼 인터럽트가 와도 계속 기다린다. 인터럽트 상태는 남는다.
+				notFull.awaitUninterruptibly();
+			}
+			buffer[in] = item;
+			in = (in + 1) & mask;
+			count++;
+			notEmpty.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T remove(String name) {
+		lock.lock();
+		try {
+			while (count == 0) {
+				notEmpty.awaitUninterruptibly();
+			}
+			T item = (T) buffer[out];
+			buffer[out] = null;
+			out = (out + 1) & mask;
+			count--;
+			notFull.signal();
+			return item;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+}
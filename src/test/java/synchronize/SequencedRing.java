@@ -0,0 +1,114 @@
+package synchronize;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Vyukov bounded MPMC queue의 칸 번호(sequence)와 위치(enqueuePosition/dequeuePosition) 관리만 떼어 낸 상위 클래스
+ * <br>
+ * 항목을 담는 배열은 하위 클래스가 가진다. (LockFreeBoundedBuffer는 Object[], LongRingBuffer는 long[])
+ * <ul>
+ *     <li>넣기: claimEnqueuePosition()으로 위치를 가져와 index(position) 칸에 쓰고 publish(position)</li>
+ *     <li>꺼내기: claimDequeuePosition()으로 위치를 가져와 index(position) 칸을 읽고 release(position)</li>
+ * </ul>
+ * 위치는 0부터 늘어나기만 하므로 가져오지 못했을 때는 NO_POSITION(-1)을 돌려준다.
+ * <br>
+ * capacity는 2 이상이어야 한다. capacity가 1이면 채워진 칸의 sequence(position + 1)와
+ * 다음 바퀴에 비어 있는 칸의 sequence(position + capacity)가 같아져서, 채워진 칸을 덮어쓰고 consumer는 끝없이 돈다.
+ */
+abstract class SequencedRing extends DequeuePositionPadding {
+	static final long NO_POSITION = -1L;
+
+	private static final VarHandle ENQUEUE_POSITION;
+	private static final VarHandle DEQUEUE_POSITION;
+	private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			ENQUEUE_POSITION = lookup.findVarHandle(EnqueuePosition.class, "enqueuePosition", long.class);
+			DEQUEUE_POSITION = lookup.findVarHandle(DequeuePosition.class, "dequeuePosition", long.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final int capacity;
+	private final long[] sequences;
+
+	SequencedRing(int capacity) {
+		if (capacity < 2) {
+			throw new IllegalArgumentException("버퍼 크기는 2 이상이어야 합니다. : " + capacity);
+		}
+		this.capacity = capacity;
+		this.sequences = new long[capacity];
+		for (int i = 0; i < capacity; i++) {
+			sequences[i] = i;
+		}
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * 넣을 칸의 position을 CAS로 가져온다. 가득 차 있으면 NO_POSITION
+	 */
+	final long claimEnqueuePosition() {
+		long position = (long) ENQUEUE_POSITION.getVolatile(this);
+		while (true) {
+			long difference = (long) SEQUENCE.getAcquire(sequences, index(position)) - position;
+			if (difference == 0) {
+				if (ENQUEUE_POSITION.compareAndSet(this, position, position + 1)) {
+					return position;
+				}
+				position = (long) ENQUEUE_POSITION.getVolatile(this);
+			} else if (difference < 0) {
+				// 한 바퀴 전 칸을 consumer가 아직 꺼내지 않았다.
+				return NO_POSITION;
+			} else {
+				// 다른 producer가 이 위치를 먼저 가져갔다.
+				position = (long) ENQUEUE_POSITION.getVolatile(this);
+			}
+		}
+	}
+
+	/**
+	 * 칸을 채웠으니 consumer에게 넘긴다.
+	 */
+	final void publish(long position) {
+		SEQUENCE.setRelease(sequences, index(position), position + 1);
+	}
+
+	/**
+	 * 꺼낼 칸의 position을 CAS로 가져온다. 비어 있으면 NO_POSITION
+	 */
+	final long claimDequeuePosition() {
+		long position = (long) DEQUEUE_POSITION.getVolatile(this);
+		while (true) {
+			long difference = (long) SEQUENCE.getAcquire(sequences, index(position)) - (position + 1);
+			if (difference == 0) {
+				if (DEQUEUE_POSITION.compareAndSet(this, position, position + 1)) {
+					return position;
+				}
+				position = (long) DEQUEUE_POSITION.getVolatile(this);
+			} else if (difference < 0) {
+				// producer가 아직 이 칸을 채우지 않았다.
+				return NO_POSITION;
+			} else {
+				position = (long) DEQUEUE_POSITION.getVolatile(this);
+			}
+		}
+	}
+
+	/**
+	 * 칸을 비웠으니 sequence를 position + capacity로 바꿔 한 바퀴 뒤의 producer에게 넘긴다.
+	 */
+	final void release(long position) {
+		SEQUENCE.setRelease(sequences, index(position), position + capacity);
+	}
+
+	final int index(long position) {
+		return (int) (position % capacity);
+	}
+}
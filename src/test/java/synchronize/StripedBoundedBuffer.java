@@ -0,0 +1,131 @@
+package synchronize;
+
+import java.util.Objects;
+
+/**
+ * 항목을 여러 lane(LockFreeBoundedBuffer)에 나눠 담아, 스레드가 많아져도 카운터 하나를 두고 다투지 않게 한 버퍼
+ * <br>
+ * 스레드는 스레드 id로 정해지는 lane 하나(home lane)부터 사용한다. id는 차례로 늘어나므로 새로 만든 스레드는 lane에 고르게 퍼진다.
+ * 버퍼마다 ThreadLocal을 두지 않으므로 스레드 풀의 스레드에 버퍼별 항목이 남지 않는다.
+ * <ul>
+ *     <li>producer: home lane에 넣는다. 가득 차 있으면 다음 lane들을 차례로 시도한다.</li>
+ *     <li>consumer: home lane에서 꺼낸다. 비어 있으면 다른 lane에서 훔쳐 온다(work stealing).</li>
+ *     <li>모든 lane이 가득 차거나 비어 있으면 WaitStrategy로 기다린다. 담을 수 있는 개수는 lane 용량의 합(capacity)을 넘지 않는다.</li>
+ * </ul>
+ * fifoPerProducer가 true면 producer는 home lane에만 넣는다. lane 하나는 FIFO이므로 한 producer가 넣은 항목은 넣은 순서대로 꺼내진다.
+ * 대신 home lane이 가득 차면 다른 lane에 자리가 있어도 기다린다.
+ * <br>
+ * producer는 스레드로 구분하고 name은 쓰지 않는다. lane끼리 순서는 보장하지 않는다.
+ */
+public class StripedBoundedBuffer<T> implements BlockingBuffer<T> {
+	private static final long DEFAULT_MAX_PARK_NANOS = 1_000L;
+
+	private final LockFreeBoundedBuffer<T>[] lanes;
+	private final int capacity;
+	private final boolean fifoPerProducer;
+	private final WaitStrategy waitStrategy;
+
+	/**
+	 * 코어 수만큼 lane을 만들되 lane마다 2칸 이상이 되도록 capacity / 2개를 넘지 않게 하고, 순서는 보장하지 않는다.
+	 */
+	public StripedBoundedBuffer(int capacity) {
+		this(Math.min(Runtime.getRuntime().availableProcessors(), Math.max(capacity / 2, 1)), capacity, false,
+			WaitStrategy.parking(DEFAULT_MAX_PARK_NANOS));
+	}
+
+	/**
+	 * capacity를 laneCount개의 lane에 최대한 고르게 나눈다. lane 용량의 합은 정확히 capacity다.
+	 * LockFreeBoundedBuffer는 2칸 이상이어야 하므로 capacity는 laneCount의 2배 이상이어야 한다.
+	 * waitStrategy는 모든 lane이 함께 쓰므로, 어느 lane에서 넣고 꺼내도 기다리던 스레드를 깨운다.
+	 */
+	public StripedBoundedBuffer(int laneCount, int capacity, boolean fifoPerProducer, WaitStrategy waitStrategy) {
+		if (laneCount <= 0) {
+			throw new IllegalArgumentException("lane 수는 0보다 커야 합니다. : " + laneCount);
+		}
+		if (capacity / 2 < laneCount) {
+			throw new IllegalArgumentException("버퍼 크기는 lane 수(" + laneCount + ")의 2배 이상이어야 합니다. : " + capacity);
+		}
+		this.capacity = capacity;
+		this.fifoPerProducer = fifoPerProducer;
+		this.waitStrategy = Objects.requireNonNull(waitStrategy);
+		this.lanes = newLanes(laneCount);
+		for (int i = 0; i < laneCount; i++) {
+			int laneCapacity = capacity / laneCount + (i < capacity % laneCount ? 1 : 0);
+			lanes[i] = new LockFreeBoundedBuffer<>(laneCapacity, waitStrategy);
+		}
+	}
+
+	@Override
+	public void insert(T item, String name) {
+		int home = homeLane();
+		if (!tryInsert(item, home)) {
+			waitStrategy.await(() -> tryInsert(item, home));
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T remove(String name) {
+		int home = homeLane();
+		T item = tryRemove(home);
+		if (item != null) {
+			return item;
+		}
+		Object[] removed = new Object[1];
+		waitStrategy.await(() -> (removed[0] = tryRemove(home)) != null);
+		return (T) removed[0];
+	}
+
+	/**
+	 * 넣을 수 있는 lane이 없으면 기다리지 않고 false를 돌려준다.
+	 */
+	public boolean tryInsert(T item) {
+		return tryInsert(item, homeLane());
+	}
+
+	/**
+	 * 모든 lane이 비어 있으면 기다리지 않고 null을 돌려준다.
+	 */
+	public T tryRemove() {
+		return tryRemove(homeLane());
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	public int laneCount() {
+		return lanes.length;
+	}
+
+	private int homeLane() {
+		return (int) Math.floorMod(Thread.currentThread().getId(), (long) lanes.length);
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <T> LockFreeBoundedBuffer<T>[] newLanes(int laneCount) {
+		return new LockFreeBoundedBuffer[laneCount];
+	}
+
+	private boolean tryInsert(T item, int home) {
+		if (fifoPerProducer) {
+			return lanes[home].tryInsert(item);
+		}
+		for (int i = 0; i < lanes.length; i++) {
+			if (lanes[(home + i) % lanes.length].tryInsert(item)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private T tryRemove(int home) {
+		for (int i = 0; i < lanes.length; i++) {
+			T item = lanes[(home + i) % lanes.length].tryRemove();
+			if (item != null) {
+				return item;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,125 @@
+package synchronize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class StripedBoundedBufferTest {
+	private static final int PRODUCER_THREAD_SIZE = 4;
+	private static final int CONSUMER_THREAD_SIZE = 3;
+	private static final int LANE_SIZE = 4;
+	private static final int ITEMS_PER_PRODUCER = 10_000;
+
+	@DisplayName("lane 용량의 합만큼 담고 나면, 다른 lane에 넣거나 다른 lane에서 꺼내서라도 모두 채우고 비운다.")
+	@Test
+	void capacityTest() {
+		//given
+		StripedBoundedBuffer<Integer> buffer = new StripedBoundedBuffer<>(LANE_SIZE, 10, false, WaitStrategy.spinThenYield());
+
+		//when, then
+		assertThat(buffer.tryRemove()).isNull();
+		for (int i = 0; i < buffer.capacity(); i++) {
+			assertThat(buffer.tryInsert(i)).isTrue();
+		}
+		assertThat(buffer.tryInsert(buffer.capacity())).isFalse();
+		List<Integer> removed = new ArrayList<>();
+		for (Integer item = buffer.tryRemove(); item != null; item = buffer.tryRemove()) {
+			removed.add(item);
+		}
+		assertThat(removed).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+	}
+
+	@DisplayName("lane마다 2칸 이상이 되지 않으면 만들 수 없고, 기본 생성자는 lane 수를 capacity / 2개까지로 줄인다.")
+	@Test
+	void laneCountTest() {
+		//when, then
+		assertThatThrownBy(() -> new StripedBoundedBuffer<Integer>(LANE_SIZE, LANE_SIZE * 2 - 1, false, WaitStrategy.blocking()))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new StripedBoundedBuffer<Integer>(1))
+			.isInstanceOf(IllegalArgumentException.class);
+		for (int capacity = 2; capacity <= Runtime.getRuntime().availableProcessors() * 2 + 1; capacity++) {
+			StripedBoundedBuffer<Integer> buffer = new StripedBoundedBuffer<>(capacity);
+			assertThat(buffer.laneCount() * 2).as("capacity %d", capacity).isLessThanOrEqualTo(capacity);
+			for (int i = 0; i < capacity; i++) {
+				assertThat(buffer.tryInsert(i)).as("capacity %d", capacity).isTrue();
+			}
+			assertThat(buffer.tryInsert(capacity)).as("capacity %d", capacity).isFalse();
+			for (int i = 0; i < capacity; i++) {
+				assertThat(buffer.tryRemove()).as("capacity %d", capacity).isNotNull();
+			}
+			assertThat(buffer.tryRemove()).as("capacity %d", capacity).isNull();
+		}
+	}
+
+	@DisplayName("producer 4개, consumer 3개가 lane을 나눠 쓰며 주고받아도 빠지거나 중복되는 항목이 없다.")
+	@Test
+	void producerConsumerTest() throws InterruptedException, ExecutionException {
+		//given
+		StripedBoundedBuffer<Integer> buffer = new StripedBoundedBuffer<>(LANE_SIZE, 8, false, WaitStrategy.blocking());
+
+		//when
+		AtomicIntegerArray received = ProducerConsumerTasks.transfer(buffer, PRODUCER_THREAD_SIZE, CONSUMER_THREAD_SIZE,
+			ITEMS_PER_PRODUCER);
+
+		//then
+		ProducerConsumerTasks.assertReceivedOnce(received);
+		assertThat(buffer.tryRemove()).isNull();
+	}
+
+	@DisplayName("capacity가 lane 수의 2배 근처로 작아도 빠지거나 중복되는 항목이 없다.")
+	@Test
+	void smallCapacityTest() throws InterruptedException, ExecutionException {
+		for (int capacity = 2; capacity <= LANE_SIZE * 2 + 1; capacity++) {
+			//given
+			StripedBoundedBuffer<Integer> buffer = new StripedBoundedBuffer<>(Math.min(LANE_SIZE, capacity / 2), capacity, false,
+				WaitStrategy.blocking());
+
+			//when
+			AtomicIntegerArray received = ProducerConsumerTasks.transfer(buffer, PRODUCER_THREAD_SIZE, CONSUMER_THREAD_SIZE, 1_000);
+
+			//then
+			ProducerConsumerTasks.assertReceivedOnce(received);
+			assertThat(buffer.tryRemove()).as("capacity %d", capacity).isNull();
+		}
+	}
+
+	@DisplayName("fifoPerProducer면 producer마다 넣은 순서대로 꺼내진다.")
+	@Test
+	void fifoPerProducerTest() throws InterruptedException, ExecutionException {
+		//given
+		StripedBoundedBuffer<Integer> buffer = new StripedBoundedBuffer<>(LANE_SIZE, 8, true, WaitStrategy.blocking());
+		int[] lastReceived = new int[PRODUCER_THREAD_SIZE];
+		Arrays.fill(lastReceived, -1);
+		List<Callable<Void>> tasks = ProducerConsumerTasks.producers(PRODUCER_THREAD_SIZE, ITEMS_PER_PRODUCER, buffer::insert);
+		List<Integer> outOfOrder = new ArrayList<>();
+		tasks.add(() -> {
+			for (int i = 0; i < ITEMS_PER_PRODUCER * PRODUCER_THREAD_SIZE; i++) {
+				int item = buffer.remove("CON 0");
+				int producer = item / ITEMS_PER_PRODUCER;
+				if (item <= lastReceived[producer]) {
+					outOfOrder.add(item);
+				}
+				lastReceived[producer] = item;
+			}
+			return null;
+		});
+
+		//when
+		ProducerConsumerTasks.await(tasks);
+
+		//then
+		assertThat(outOfOrder).isEmpty();
+		for (int producer = 0; producer < PRODUCER_THREAD_SIZE; producer++) {
+			assertThat(lastReceived[producer]).isEqualTo((producer + 1) * ITEMS_PER_PRODUCER - 1);
+		}
+	}
+}
@@ -1,10 +1,19 @@
 package synchronize;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
 
 public class WaitAndNotifyTest {
 	private static final int PRODUCER_THREAD_SIZE = 4;
@@ -14,37 +23,22 @@ public class WaitAndNotifyTest {
 	private static CountDownLatch consumerLatch = new CountDownLatch(CONSUMER_THREAD_SIZE);
 
 	/**
-	 * 실행해서 로그를 확인해보자.
+	 * 실행해서 카운터를 확인해보자.
 	 * bound buffer가 꽉 차있으면 producer는 wait 상태에 들어간다. (그리고 대기 집합에 들어간다)
-	 * 만약 consumer에서 buffer를 비우고 notify()를 호출하면, 대기 집합에 있던 스레드를 다시 락을 획득할 수 있도록 진입 집합에 할당된다. 그리고
+	 * 만약 consumer에서 buffer를 비우고 notifyAll()을 호출하면, 대기 집합에 있던 스레드를 다시 락을 획득할 수 있도록 진입 집합에 할당된다. 그리고
 	 * 멈추었던 코드부터 다시 실행한다.
-	 * 이하는 실행 로그이다.
+	 * 버퍼는 로그를 찍지 않고 BufferMetrics에 센다. 이하는 실행 결과이다.
 	 * --------
 	 * start :: PRO 3
 	 * start :: PRO 2
 	 * start :: PRO 1
 	 * start :: PRO 0
-	 * inserted :: PRO 3
-	 * notify :: PRO 3
-	 * inserted :: PRO 0
-	 * notify :: PRO 0
-	 * inserted :: PRO 1
-	 * notify :: PRO 1
-	 * [wait] :: PRO 2
 	 * start :: CON 0
 	 * start :: CON 1
 	 * start :: CON 2
-	 * removed :: CON 0
-	 * notify :: CON 0
-	 * [resume] :: PRO 2
-	 * inserted :: PRO 2
-	 * notify :: PRO 2
-	 * removed :: CON 2
-	 * notify :: CON 2
-	 * removed :: CON 1
-	 * notify :: CON 1
+	 * metrics :: inserts=4, removes=3, waits=1, resumes=1, interrupts=0, waitTimeHistogram=[]
 	 * --------
-	 * PRO 2가 봉쇄되어 대기하다가, consumer에 의해 remove가 되어 사용할 수 있게 되자 다시 코드를 실행한 것을 볼 수 있다.
+	 * producer 하나가 봉쇄되어 대기하다가(waits=1), consumer에 의해 remove가 되어 사용할 수 있게 되자 다시 코드를 실행한 것(resumes=1)을 볼 수 있다.
 	 */
 	@DisplayName("wait와 notify 기능 테스트")
 	@Test
@@ -63,14 +57,164 @@ public class WaitAndNotifyTest {
 		}
 
 		consumerLatch.await();
+		System.out.println("metrics :: " + boundedBuffer.metrics());
+		assertThat(boundedBuffer.metrics().getRemoves()).isEqualTo(CONSUMER_THREAD_SIZE);
+	}
+
+	@DisplayName("버퍼는 넣고 꺼낸 수와 기다린 횟수, 기다린 시간 분포를 센다.")
+	@Test
+	void bufferMetricsTest() throws InterruptedException {
+		//given
+		BoundedBuffer<Integer> boundedBuffer = new BoundedBuffer<>(1, BufferMetrics.withWaitTimeHistogram());
+		Thread producer = new Thread(() -> {
+			boundedBuffer.insert(1, "PRO 0");
+			boundedBuffer.insert(2, "PRO 0");
+		});
+
+		//when
+		producer.start();
+		while (boundedBuffer.metrics().getWaits() == 0) {
+			Thread.onSpinWait();
+		}
+		boundedBuffer.remove("CON 0");
+		producer.join(10_000);
+		boundedBuffer.remove("CON 0");
+		BufferMetrics.Snapshot snapshot = boundedBuffer.metrics();
+
+		//then
+		assertThat(snapshot.getInserts()).isEqualTo(2);
+		assertThat(snapshot.getRemoves()).isEqualTo(2);
+		assertThat(snapshot.getWaits()).isEqualTo(1);
+		assertThat(snapshot.getResumes()).isEqualTo(1);
+		assertThat(snapshot.getInterrupts()).isZero();
+		assertThat(LongStream.of(snapshot.getWaitTimeHistogram()).sum()).isEqualTo(1);
+	}
+
+	/**
+	 * producer는 묶음째 넣고 consumer는 256개씩 꺼낸다. 버퍼가 비거나 찰 때만 기다리고, 한 번 락을 잡을 때 옮길 수 있는 만큼 옮긴다.
+	 */
+	@DisplayName("insertAll과 drainTo로 여러 항목을 한 번에 주고받는다.")
+	@Test
+	void insertAllAndDrainToTest() throws InterruptedException {
+		//given
+		BoundedBuffer<Integer> boundedBuffer = new BoundedBuffer<>(BUFFER_SIZE);
+		List<Integer> items = new ArrayList<>();
+		for (int i = 0; i < 1_000; i++) {
+			items.add(i);
+		}
+		List<Integer> drained = new ArrayList<>();
+		List<Integer> drainSizes = new ArrayList<>();
+
+		//when
+		Thread producer = new Thread(() -> boundedBuffer.insertAll(items, "PRO 0"));
+		Thread consumer = new Thread(() -> {
+			while (drained.size() < items.size()) {
+				drainSizes.add(boundedBuffer.drainTo(drained, 256, "CON 0"));
+			}
+		});
+		producer.start();
+		consumer.start();
+		producer.join(10_000);
+		consumer.join(10_000);
+
+		//then
+		assertThat(drained).isEqualTo(items);
+		assertThat(drainSizes).allMatch(size -> size >= 1 && size <= BUFFER_SIZE);
+	}
+
+	@DisplayName("버퍼마다 생성할 때 받은 크기만큼 담고, 배열을 여러 바퀴 돌아도 순서가 유지된다.")
+	@Test
+	void perInstanceCapacityTest() {
+		//given
+		BoundedBuffer<Integer> boundedBuffer = new BoundedBuffer<>(5);
+		List<Integer> drained = new ArrayList<>();
+
+		//when
+		for (int round = 0; round < 4; round++) {
+			List<Integer> items = List.of(round * 5, round * 5 + 1, round * 5 + 2, round * 5 + 3, round * 5 + 4);
+			boundedBuffer.insertAll(items, "PRO 0");
+			boundedBuffer.drainTo(drained, Integer.MAX_VALUE, "CON 0");
+		}
+
+		//then
+		assertThat(boundedBuffer.capacity()).isEqualTo(5);
+		assertThat(drained).hasSize(20);
+		for (int i = 0; i < drained.size(); i++) {
+			assertThat(drained.get(i)).isEqualTo(i);
+		}
+	}
+
+	@DisplayName("offer와 poll은 정해진 시간만 기다리고, 기다리는 중에 인터럽트를 받으면 InterruptedException을 던진다.")
+	@Test
+	void offerAndPollTest() throws InterruptedException {
+		//given
+		BoundedBuffer<Integer> boundedBuffer = new BoundedBuffer<>(1);
+		AtomicReference<Throwable> thrown = new AtomicReference<>();
+		Thread producer = new Thread(() -> {
+			try {
+				boundedBuffer.offer(3, 10, TimeUnit.SECONDS);
+			} catch (Throwable e) {
+				thrown.set(e);
+			}
+		});
+
+		//when, then
+		assertThat(boundedBuffer.poll(10, TimeUnit.MILLISECONDS)).isNull();
+		assertThat(boundedBuffer.offer(1, 10, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(boundedBuffer.offer(2, 10, TimeUnit.MILLISECONDS)).isFalse();
+
+		long waits = boundedBuffer.metrics().getWaits();
+		producer.start();
+		while (boundedBuffer.metrics().getWaits() == waits) {
+			Thread.onSpinWait();
+		}
+		producer.interrupt();
+		producer.join(10_000);
+		assertThat(thrown.get()).isInstanceOf(InterruptedException.class);
+		assertThat(boundedBuffer.metrics().getInterrupts()).isEqualTo(1);
+
+		assertThat(boundedBuffer.poll(10, TimeUnit.MILLISECONDS)).isEqualTo(1);
+		assertThat(boundedBuffer.poll(0, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	@DisplayName("close하면 기다리던 producer를 깨워서 거절하고, 남은 항목을 다 꺼낸 뒤에는 consumer도 거절한다.")
+	@Test
+	void closeTest() throws InterruptedException {
+		//given
+		BoundedBuffer<Integer> boundedBuffer = new BoundedBuffer<>(1);
+		boundedBuffer.insert(1, "PRO 0");
+		AtomicReference<Throwable> thrown = new AtomicReference<>();
+		Thread producer = new Thread(() -> {
+			try {
+				boundedBuffer.insert(2, "PRO 1");
+			} catch (Throwable e) {
+				thrown.set(e);
+			}
+		});
+		producer.start();
+		while (boundedBuffer.metrics().getWaits() == 0) {
+			Thread.onSpinWait();
+		}
+
+		//when
+		boundedBuffer.close();
+		producer.join(10_000);
+
+		//then
+		assertThat(thrown.get()).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> boundedBuffer.insert(3, "PRO 0")).isInstanceOf(IllegalStateException.class);
+		assertThat(boundedBuffer.remove("CON 0")).isEqualTo(1);
+		assertThatThrownBy(() -> boundedBuffer.remove("CON 0")).isInstanceOf(IllegalStateException.class);
+		assertThat(boundedBuffer.poll(10, TimeUnit.SECONDS)).isNull();
+		assertThat(boundedBuffer.isClosed()).isTrue();
 	}
 
 	public static class ProducerThread<T> implements Runnable {
-		private BoundedBuffer<T> boundedBuffer;
+		private BlockingBuffer<T> boundedBuffer;
 		private T item;
 		private String name;
 
-		public ProducerThread(BoundedBuffer<T> boundedBuffer, T item, int name) {
+		public ProducerThread(BlockingBuffer<T> boundedBuffer, T item, int name) {
 			this.boundedBuffer = boundedBuffer;
 			this.item = item;
 			this.name = "PRO " + name;
@@ -86,10 +230,10 @@ public class WaitAndNotifyTest {
 	}
 
 	public static class ConsumerThread<T> implements Runnable {
-		private BoundedBuffer<T> boundedBuffer;
+		private BlockingBuffer<T> boundedBuffer;
 		private String name;
 
-		public ConsumerThread(BoundedBuffer<T> boundedBuffer, int name) {
+		public ConsumerThread(BlockingBuffer<T> boundedBuffer, int name) {
 			this.name = "CON " + name;
 			this.boundedBuffer = boundedBuffer;
 		}
@@ -103,57 +247,323 @@ public class WaitAndNotifyTest {
 		}
 	}
 
-	public static class BoundedBuffer<T> {
+	/**
+	 * 담을 수 있는 개수(capacity)는 생성할 때 받은 값 그대로이고, 배열 길이만 2의 거듭제곱으로 올린다.
+	 * in/out은 나머지 연산 대신 mask로 감싸고, 가득 찼는지는 count와 capacity로 판단한다.
+	 * <br>
+	 * 모니터를 잡은 채로 콘솔에 로그를 찍으면 임계 구역이 콘솔 출력 속도에 묶이므로, 로그 대신 BufferMetrics의 카운터를 올린다.
+	 * <br>
+	 * insert/remove는 인터럽트를 받아도 계속 기다리고, 끝난 뒤에 인터럽트 상태를 되살린다.
+	 * 기다리다가 포기할 수 있어야 하면 offer/poll을 쓴다. 정해진 시간만 기다리고, 인터럽트를 받으면 InterruptedException을 던진다.
+	 * close()를 부르면 기다리던 스레드를 모두 깨우고, 이후의 넣기는 IllegalStateException으로 거절한다. 남은 항목은 꺼낼 수 있다.
+	 */
+	public static class BoundedBuffer<T> implements BlockingBuffer<T> {
+		private static final int MAX_CAPACITY = 1 << 30;
+
 		private int count, in, out;
-		private T[] buffer;
+		private boolean closed;
+		private final int capacity;
+		private final int mask;
+		private final T[] buffer;
+		private final BufferMetrics metrics;
 
 		public BoundedBuffer(int bufferSize) {
+			this(bufferSize, BufferMetrics.counting());
+		}
+
+		public BoundedBuffer(int bufferSize, BufferMetrics metrics) {
+			if (bufferSize <= 0 || bufferSize > MAX_CAPACITY) {
+				throw new IllegalArgumentException("버퍼 크기는 1 ~ " + MAX_CAPACITY + " 사이여야 합니다. : " + bufferSize);
+			}
 			count = 0;
 			in = 0;
 			out = 0;
-			this.buffer = (T[]) new Object[bufferSize];
+			this.capacity = bufferSize;
+			this.buffer = (T[]) new Object[powerOfTwoAtLeast(bufferSize)];
+			this.mask = buffer.length - 1;
+			this.metrics = metrics;
 		}
 
+		private static int powerOfTwoAtLeast(int size) {
+			return size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+		}
+
+		public int capacity() {
+			return capacity;
+		}
+
+		public BufferMetrics.Snapshot metrics() {
+			return metrics.snapshot();
+		}
+
+		/**
+		 * @throws IllegalStateException 닫힌 버퍼에 넣으려고 할 때
+		 */
+		@Override
 		public synchronized void insert(T item, String name) {
-			while (count == BUFFER_SIZE) {
-				try {
-					System.out.println("[wait] :: " + name);
-					wait();
-					System.out.println("[resume] :: " + name);
-				} catch (InterruptedException e) {
-					System.out.println("insert 인터럽트 익셉션 : " + name);
-				}
+			boolean interrupted = false;
+			while (count == capacity && !closed) {
+				interrupted |= waitForChange();
 			}
-				buffer[in] = item;
-				in = (in + 1) % BUFFER_SIZE;
-				count++;
-				System.out.println("inserted :: " + name);
+			restoreInterrupt(interrupted);
+			checkNotClosed();
+			enqueue(item);
 
-				System.out.println("notify :: " + name);
-				notify();
+			// producer와 consumer가 같은 대기 집합에서 기다리므로, notify()는 같은 쪽 스레드만 깨워서 모두 잠들어 버릴 수 있다.
+			notifyAll();
 		}
 
+		/**
+		 * @throws IllegalStateException 버퍼가 닫혔고 남은 항목이 없을 때
+		 */
+		@Override
 		public synchronized T remove(String name) {
-			T item;
-			while (count == 0){
-				try {
-					System.out.println("[wait] ::" + name);
-					wait();
-					System.out.println("[resume] :: " + name);
-				} catch (InterruptedException e) {
-					System.out.println("remove 인터럽트 익셉션 : " + name);
+			boolean interrupted = false;
+			while (count == 0 && !closed) {
+				interrupted |= waitForChange();
+			}
+			restoreInterrupt(interrupted);
+			if (count == 0) {
+				throw new IllegalStateException("버퍼가 닫혔고 남은 항목이 없습니다.");
+			}
+			T item = dequeue();
+
+			notifyAll();
+
+			return item;
+		}
+
+		/**
+		 * 자리가 날 때까지 최대 timeout만큼 기다렸다가 넣는다.
+		 *
+		 * @return 넣었으면 true, 시간 안에 자리가 나지 않으면 false
+		 * @throws InterruptedException 부르기 전이나 기다리는 중에 인터럽트를 받았을 때. 버퍼는 바뀌지 않는다.
+		 * @throws IllegalStateException 버퍼가 닫혔을 때
+		 */
+		public synchronized boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			long remainingNanos = unit.toNanos(timeout);
+			while (count == capacity && !closed) {
+				if (remainingNanos <= 0) {
+					return false;
 				}
+				remainingNanos = waitForChange(remainingNanos);
 			}
+			checkNotClosed();
+			enqueue(item);
 
-			item = buffer[out];
-			out = (out + 1) % BUFFER_SIZE;
-			count--;
-			System.out.println("removed :: " + name);
+			notifyAll();
+
+			return true;
+		}
+
+		/**
+		 * 항목이 생길 때까지 최대 timeout만큼 기다렸다가 꺼낸다.
+		 *
+		 * @return 꺼낸 항목. 시간 안에 항목이 생기지 않았거나, 버퍼가 닫혔고 남은 항목이 없으면 null (둘은 isClosed()로 구분한다)
+		 * @throws InterruptedException 부르기 전이나 기다리는 중에 인터럽트를 받았을 때. 버퍼는 바뀌지 않는다.
+		 */
+		public synchronized T poll(long timeout, TimeUnit unit) throws InterruptedException {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			long remainingNanos = unit.toNanos(timeout);
+			while (count == 0 && !closed) {
+				if (remainingNanos <= 0) {
+					return null;
+				}
+				remainingNanos = waitForChange(remainingNanos);
+			}
+			if (count == 0) {
+				return null;
+			}
+			T item = dequeue();
+
+			notifyAll();
+
+			return item;
+		}
+
+		/**
+		 * 자리가 없으면 기다리지 않고 false를 돌려준다.
+		 *
+		 * @throws IllegalStateException 버퍼가 닫혔을 때
+		 */
+		public synchronized boolean tryInsert(T item) {
+			checkNotClosed();
+			if (count == capacity) {
+				return false;
+			}
+			enqueue(item);
+
+			notifyAll();
+
+			return true;
+		}
+
+		/**
+		 * 지금 있는 항목 중 최대 max개를 기다리지 않고 target으로 옮긴다.
+		 *
+		 * @return 옮긴 항목 수. 비어 있으면 0
+		 */
+		public synchronized int tryDrainTo(Collection<? super T> target, int max) {
+			if (max <= 0) {
+				throw new IllegalArgumentException("max는 0보다 커야 합니다. : " + max);
+			}
+			int drained = dequeueTo(target, max);
+			if (drained > 0) {
+				notifyAll();
+			}
+
+			return drained;
+		}
+
+		public synchronized int size() {
+			return count;
+		}
+
+		/**
+		 * 기다리던 producer는 IllegalStateException을, 기다리던 consumer는 남은 항목이 없으면 IllegalStateException(remove, drainTo)이나 null(poll)을 받는다.
+		 */
+		public synchronized void close() {
+			closed = true;
+			notifyAll();
+		}
+
+		public synchronized boolean isClosed() {
+			return closed;
+		}
 
-			System.out.println("notify :: " + name);
-			notify();
+		/**
+		 * 자리가 나는 만큼 한 번에 넣고, 넣을 때마다가 아니라 채운 묶음마다 notifyAll()을 한 번 부른다.
+		 * 버퍼보다 많으면 consumer가 비워줄 때까지 기다렸다가 나머지를 이어서 넣는다.
+		 *
+		 * @throws IllegalStateException 버퍼가 닫혔을 때. 그 전에 넣은 묶음은 버퍼에 남는다.
+		 */
+		public synchronized void insertAll(Collection<? extends T> items, String name) {
+			Iterator<? extends T> iterator = items.iterator();
+			boolean interrupted = false;
+			try {
+				while (iterator.hasNext()) {
+					while (count == capacity && !closed) {
+						interrupted |= waitForChange();
+					}
+					checkNotClosed();
+					int inserted = 0;
+					while (count < capacity && iterator.hasNext()) {
+						buffer[in] = iterator.next();
+						in = (in + 1) & mask;
+						count++;
+						inserted++;
+					}
+					metrics.inserted(inserted);
 
+					notifyAll();
+				}
+			} finally {
+				restoreInterrupt(interrupted);
+			}
+		}
+
+		/**
+		 * 꺼낼 항목이 생길 때까지 기다렸다가, 최대 max개를 한 번에 target으로 옮기고 notifyAll()을 한 번 부른다.
+		 *
+		 * @return 옮긴 항목 수. 1 이상 max 이하
+		 * @throws IllegalStateException 버퍼가 닫혔고 남은 항목이 없을 때
+		 */
+		public synchronized int drainTo(Collection<? super T> target, int max, String name) {
+			if (max <= 0) {
+				throw new IllegalArgumentException("max는 0보다 커야 합니다. : " + max);
+			}
+			boolean interrupted = false;
+			while (count == 0 && !closed) {
+				interrupted |= waitForChange();
+			}
+			restoreInterrupt(interrupted);
+			if (count == 0) {
+				throw new IllegalStateException("버퍼가 닫혔고 남은 항목이 없습니다.");
+			}
+
+			int drained = dequeueTo(target, max);
+
+			notifyAll();
+
+			return drained;
+		}
+
+		private void enqueue(T item) {
+			buffer[in] = item;
+			in = (in + 1) & mask;
+			count++;
+			metrics.inserted(1);
+		}
+
+		private T dequeue() {
+			T item = buffer[out];
+			buffer[out] = null;
+			out = (out + 1) & mask;
+			count--;
+			metrics.removed(1);
 			return item;
 		}
+
+		private int dequeueTo(Collection<? super T> target, int max) {
+			int drained = Math.min(count, max);
+			for (int i = 0; i < drained; i++) {
+				target.add(buffer[out]);
+				buffer[out] = null;
+				out = (out + 1) & mask;
+			}
+			count -= drained;
+			metrics.removed(drained);
+			return drained;
+		}
+
+		private void checkNotClosed() {
+			if (closed) {
+				throw new IllegalStateException("닫힌 버퍼에는 넣을 수 없습니다.");
+			}
+		}
+
+		/**
+		 * @return 기다리다가 인터럽트를 받았으면 true. 인터럽트 상태는 지워진 채로 돌아오므로 호출한 쪽에서 되살린다.
+		 */
+		private boolean waitForChange() {
+			long waitStartNanos = metrics.waiting();
+			try {
+				wait();
+				return false;
+			} catch (InterruptedException e) {
+				metrics.interrupted();
+				return true;
+			} finally {
+				metrics.resumed(waitStartNanos);
+			}
+		}
+
+		/**
+		 * @return 남은 대기 시간 (나노초)
+		 */
+		private long waitForChange(long remainingNanos) throws InterruptedException {
+			long deadline = System.nanoTime() + remainingNanos;
+			long waitStartNanos = metrics.waiting();
+			try {
+				TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+			} catch (InterruptedException e) {
+				metrics.interrupted();
+				throw e;
+			} finally {
+				metrics.resumed(waitStartNanos);
+			}
+			return deadline - System.nanoTime();
+		}
+
+		private static void restoreInterrupt(boolean interrupted) {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
 	}
 }
@@ -0,0 +1,71 @@
+package synchronize;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 버퍼가 가득 차거나 비어 있을 때 스레드가 기다리는 방법
+ * <br>
+ * await()는 ready가 true를 돌려줄 때까지 기다린다. 버퍼는 상태를 바꿀 때마다 signalAll()을 부른다.
+ * 깨워줄 필요가 없는 spin 계열 전략은 signalAll()이 아무 일도 하지 않는다.
+ * <ul>
+ *     <li>busySpin: CPU를 계속 쓰며 다시 확인한다. 지연 시간은 가장 짧지만 기다리는 스레드 수만큼 코어가 필요하다.</li>
+ *     <li>spinThenYield: 잠깐 spin 하다가 Thread.yield()로 다른 스레드에 CPU를 양보한다.</li>
+ *     <li>parking: spin, yield 후에도 안 되면 LockSupport.parkNanos로 잠들고, 잠드는 시간을 maxParkNanos까지 두 배씩 늘린다.</li>
+ *     <li>blocking: Condition에서 잠들었다가 signalAll()로 깨어난다. CPU를 쓰지 않지만 깨어날 때마다 park/unpark 비용이 든다.</li>
+ * </ul>
+ * blocking 전략은 상태를 가지므로 버퍼마다 새로 만들어서 넘긴다.
+ */
+public interface WaitStrategy {
+	int SPIN_TRIES = 100;
+	int YIELD_TRIES = 200;
+	long MIN_PARK_NANOS = 1_000L;
+
+	void await(BooleanSupplier ready);
+
+	default void signalAll() {
+	}
+
+	static WaitStrategy busySpin() {
+		return ready -> {
+			while (!ready.getAsBoolean()) {
+				Thread.onSpinWait();
+			}
+		};
+	}
+
+	static WaitStrategy spinThenYield() {
+		return ready -> {
+			for (int tries = 0; !ready.getAsBoolean(); tries++) {
+				if (tries < SPIN_TRIES) {
+					Thread.onSpinWait();
+				} else {
+					Thread.yield();
+				}
+			}
+		};
+	}
+
+	static WaitStrategy parking(long maxParkNanos) {
+		if (maxParkNanos < MIN_PARK_NANOS) {
+			throw new IllegalArgumentException("maxParkNanos는 " + MIN_PARK_NANOS + " 이상이어야 합니다. : " + maxParkNanos);
+		}
+		return ready -> {
+			long parkNanos = MIN_PARK_NANOS;
+			for (int tries = 0; !ready.getAsBoolean(); tries++) {
+				if (tries < SPIN_TRIES) {
+					Thread.onSpinWait();
+				} else if (tries < YIELD_TRIES) {
+					Thread.yield();
+				} else {
+					LockSupport.parkNanos(parkNanos);
+					parkNanos = Math.min(parkNanos * 2, maxParkNanos);
+				}
+			}
+		};
+	}
+
+	static WaitStrategy blocking() {
+		return new BlockingWaitStrategy();
+	}
+}